@@ -8,6 +8,9 @@
 plugins {
     // Apply the application plugin to add support for building a CLI application in Java.
     application
+
+    // JMH benchmarks live in src/jmh and run with `./gradlew jmh`
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 repositories {
@@ -40,3 +43,14 @@ tasks.named<Test>("test") {
     // Increase heap to 4GB for big graphs
     maxHeapSize = "4g"
 }
+
+jmh {
+    jmhVersion = "1.37"
+    jvmArgs = listOf("-Xmx4g")
+
+    // Machine-readable results for comparing runs, in build/results/jmh
+    resultFormat = "JSON"
+
+    // Run a subset with e.g. `./gradlew jmh -Pjmh.includes=IntHashSetBenchmark`
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+}
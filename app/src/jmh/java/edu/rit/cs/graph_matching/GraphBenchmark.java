@@ -0,0 +1,121 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the query performance of the {@link Graph} implementations on the
+ * same random regular graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark {
+  /** The number of queries cycled through by each operation */
+  private static final int QUERIES = 1 << 16;
+
+  @Param({ "sparse", "arena", "dense", "compressed" })
+  String backend;
+
+  @Param({ "10000", "60000" })
+  int size;
+
+  @Param({ "5", "50" })
+  int degree;
+
+  Graph graph;
+
+  /** Random vertices to query */
+  int[] vertices;
+
+  /** Random vertices that are neighbors of the vertex at the same index */
+  int[] neighbors;
+
+  /** Random vertices that are unlikely to be neighbors, but never equal */
+  int[] others;
+
+  int next;
+
+  Random random;
+
+  @Setup
+  public void setup() {
+    random = new Random(0);
+    MutableGraph source = switch (backend) {
+      case "sparse", "compressed" -> new SparseGraphImpl(size);
+      case "arena" -> new ArenaGraphImpl(size);
+      case "dense" -> new DenseGraphImpl(size);
+      default -> throw new IllegalArgumentException("Unknown backend " + backend);
+    };
+    GraphGenerator.generateRegularGraph(source, degree);
+    GraphGenerator.mutateRegularGraph(source, size * degree, random);
+    graph = backend.equals("compressed") ? source.freeze() : source;
+
+    vertices = new int[QUERIES];
+    neighbors = new int[QUERIES];
+    others = new int[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      vertices[i] = random.nextInt(size);
+      neighbors[i] = graph.getRandomNeighbor(vertices[i], random);
+      // DenseGraphImpl rejects self-loop queries
+      do {
+        others[i] = random.nextInt(size);
+      } while (others[i] == vertices[i]);
+    }
+  }
+
+  private int nextIndex() {
+    next = (next + 1) & (QUERIES - 1);
+    return next;
+  }
+
+  @Benchmark
+  public boolean hasEdgePresent() {
+    int i = nextIndex();
+    return graph.hasEdge(vertices[i], neighbors[i]);
+  }
+
+  @Benchmark
+  public boolean hasEdgeAbsent() {
+    int i = nextIndex();
+    return graph.hasEdge(vertices[i], others[i]);
+  }
+
+  @Benchmark
+  public int getRandomNeighbor() {
+    return graph.getRandomNeighbor(vertices[nextIndex()], random);
+  }
+
+  @Benchmark
+  public int getDegree() {
+    return graph.getDegree(vertices[nextIndex()]);
+  }
+
+  /**
+   * Visits every neighbor of a vertex through indexed access.
+   */
+  @Benchmark
+  public void scanNeighbors(Blackhole blackhole) {
+    int v = vertices[nextIndex()];
+    int d = graph.getDegree(v);
+    for (int i = 0; i < d; i++) {
+      blackhole.consume(graph.getNeighbor(v, i));
+    }
+  }
+}
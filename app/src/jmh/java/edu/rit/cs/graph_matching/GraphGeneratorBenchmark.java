@@ -0,0 +1,86 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link GraphGenerator} routines used to build experiment
+ * inputs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GraphGeneratorBenchmark {
+  @Param({ "sparse", "arena" })
+  String backend;
+
+  @Param({ "10000", "1000000" })
+  int size;
+
+  @Param({ "3", "10" })
+  int degree;
+
+  /** A fresh graph for each invocation to fill */
+  MutableGraph graph;
+
+  /** A regular graph for each invocation to mutate */
+  MutableGraph regular;
+
+  Random random;
+
+  @Setup(Level.Invocation)
+  public void setup() {
+    random = new Random(0);
+    graph = newGraph();
+    regular = GraphGenerator.generateRegularGraph(newGraph(), degree);
+  }
+
+  private MutableGraph newGraph() {
+    return switch (backend) {
+      case "sparse" -> new SparseGraphImpl(size);
+      case "arena" -> new ArenaGraphImpl(size);
+      default -> throw new IllegalArgumentException("Unknown backend " + backend);
+    };
+  }
+
+  @Benchmark
+  public MutableGraph generateRegularGraph() {
+    return GraphGenerator.generateRegularGraph(graph, degree);
+  }
+
+  @Benchmark
+  public MutableGraph generateRegularBipartiteGraph() {
+    return GraphGenerator.generateRegularBipartiteGraph(graph, degree);
+  }
+
+  /**
+   * Mutates a regular graph with as many mutations as it has vertex-edge
+   * incidences, as the experiments do.
+   */
+  @Benchmark
+  public MutableGraph mutateRegularGraph() {
+    GraphGenerator.mutateRegularGraph(regular, size * degree, random);
+    return regular;
+  }
+
+  @Benchmark
+  public Graph freeze() {
+    return regular.freeze();
+  }
+}
@@ -0,0 +1,118 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the individual operations of {@link IntHashSet}. Each operation
+ * cycles through a precomputed array of random keys, so that the cost of
+ * generating keys is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntHashSetBenchmark {
+  /** The number of keys cycled through by each operation */
+  private static final int KEYS = 1 << 16;
+
+  @Param({ "16", "1000", "1000000" })
+  int size;
+
+  /** A set containing exactly the values [0, 2 * size) at even positions */
+  IntHashSet set;
+
+  /** Random keys that are in {@link #set} */
+  int[] present;
+
+  /** Random keys that are not in {@link #set} */
+  int[] absent;
+
+  /** The index of the next key to use */
+  int next;
+
+  Random random;
+
+  @Setup
+  public void setup() {
+    random = new Random(0);
+    set = new IntHashSet();
+    for (int i = 0; i < size; i++) {
+      set.add(i * 2);
+    }
+
+    present = new int[KEYS];
+    absent = new int[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      present[i] = random.nextInt(size) * 2;
+      absent[i] = random.nextInt(size) * 2 + 1;
+    }
+  }
+
+  private int nextIndex() {
+    next = (next + 1) & (KEYS - 1);
+    return next;
+  }
+
+  @Benchmark
+  public boolean containsPresent() {
+    return set.contains(present[nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean containsAbsent() {
+    return set.contains(absent[nextIndex()]);
+  }
+
+  /**
+   * Removes a present key and adds it back, leaving the set unchanged.
+   */
+  @Benchmark
+  public boolean removeAndAdd() {
+    int key = present[nextIndex()];
+    set.remove(key);
+    return set.add(key);
+  }
+
+  /**
+   * Adds an absent key and removes it again, leaving the set unchanged.
+   */
+  @Benchmark
+  public boolean addAndRemove() {
+    int key = absent[nextIndex()];
+    set.add(key);
+    return set.remove(key);
+  }
+
+  @Benchmark
+  public int getRandom() {
+    return set.getRandom(random);
+  }
+
+  /**
+   * Builds a whole set of {@link #size} elements from scratch.
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public IntHashSet build() {
+    IntHashSet built = new IntHashSet();
+    for (int i = 0; i < size; i++) {
+      built.add(i * 2);
+    }
+    return built;
+  }
+}
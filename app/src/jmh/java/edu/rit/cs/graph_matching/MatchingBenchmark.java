@@ -0,0 +1,77 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the matching algorithms end to end on mutated random regular
+ * graphs. Every invocation of an algorithm uses the same seed, so each
+ * measurement repeats exactly the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatchingBenchmark {
+  /** The seed of every algorithm run */
+  private static final long SEED = 0x8294757462947573L;
+
+  @Param({ "10000", "100000", "1000000" })
+  int size;
+
+  @Param({ "3", "5", "10" })
+  int degree;
+
+  @Param({ "sparse", "compressed" })
+  String backend;
+
+  Graph graph;
+
+  @Setup
+  public void setup() {
+    MutableGraph source = GraphGenerator.generateRegularGraph(new SparseGraphImpl(size), degree);
+    GraphGenerator.mutateRegularGraph(source, size * degree, new Random(SEED));
+    graph = backend.equals("compressed") ? source.freeze() : source;
+  }
+
+  @Benchmark
+  public Matching daniHayesPerfect() {
+    return new DaniHayesAlgorithm(graph, new Random(SEED)).generatePerfectMatching();
+  }
+
+  @Benchmark
+  public Matching daniHayesDefault() {
+    return new DaniHayesAlgorithm(graph, new Random(SEED)).generateMatching();
+  }
+
+  @Benchmark
+  public Matching edmonds() {
+    return new EdmondsAlgorithm(graph).computeMaximumMatching();
+  }
+
+  @Benchmark
+  public Matching edmondsWithoutInitialization() {
+    EdmondsAlgorithm algorithm =
+        new EdmondsAlgorithm(graph, EdmondsAlgorithm.Initialization.NONE);
+    return algorithm.computeMaximumMatching();
+  }
+
+  @Benchmark
+  public Matching phasedEdmonds() {
+    return new PhasedEdmondsAlgorithm(graph).computeMaximumMatching();
+  }
+}
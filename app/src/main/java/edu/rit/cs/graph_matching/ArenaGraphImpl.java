@@ -0,0 +1,546 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * A sparse undirected graph implementation that stores every adjacency in a
+ * single int array, with the following properties:
+ * <ul>
+ * <li>{@link #getRandomNeighbor(int)} runs in O(1) time</li>
+ * <li>{@link #getAllNeighbors(int)} runs in O(1) time</li>
+ * <li>{@link #hasEdge(int, int)} runs in expected O(1) time</li>
+ * <li>{@link #getNeighbor(int, int)} runs in O(1) time</li>
+ * <li>{@link #addEdge(int, int)} and {@link #removeEdge(int, int)} run in
+ * amortized expected O(1) time</li>
+ * </ul>
+ * <p>
+ * Unlike {@link SparseGraphImpl}, this graph allocates no objects per vertex:
+ * each vertex owns a slab of the shared arena, and a handful of primitive
+ * arrays indexed by vertex locate the slabs. This keeps the heap small and the
+ * garbage collector idle when generating and mutating graphs with tens of
+ * millions of vertices. Like any {@link MutableGraph}, it can be converted to a
+ * {@link CompressedGraphImpl} with {@link #freeze()} once it's built.
+ *
+ * @implNote A slab has a power-of-two capacity, and holds the vertex's
+ *   neighbors, unsorted, in its first {@code degree} slots. Slabs with a
+ *   capacity of at most {@link #SCAN_CAPACITY} are searched linearly. Larger
+ *   slabs are followed by a linear probing hash index of twice their capacity,
+ *   whose slots hold the position of a neighbor plus one, or 0 if empty. When a
+ *   slab is full it is relocated to a slab of twice the capacity, and the old
+ *   slab is kept on a free list for its capacity, to be reused by the next
+ *   vertex that grows into that size. Slabs never shrink.
+ */
+public class ArenaGraphImpl implements MutableGraph {
+  /**
+   * The largest slab capacity that is searched linearly. Larger slabs carry a
+   * hash index.
+   */
+  static final int SCAN_CAPACITY = 16;
+
+  /** The binary logarithm of the capacity of a vertex's first slab */
+  private static final int INITIAL_BITS = 2;
+
+  /** The largest arena that can be allocated */
+  private static final int MAX_ARENA_LENGTH = Integer.MAX_VALUE - 8;
+
+  /** The number of neighbors of each vertex */
+  private final int[] degrees;
+
+  /** The index in {@link #arena} of each vertex's slab */
+  private final int[] starts;
+
+  /**
+   * The binary logarithm of the capacity of each vertex's slab, or 0 if the
+   * vertex doesn't have a slab yet.
+   */
+  private final byte[] capacityBits;
+
+  /**
+   * The head of the free list of slabs of each capacity, by binary logarithm,
+   * or -1 if there are none. The first slot of a free slab holds the next free
+   * slab of the same capacity.
+   */
+  private final int[] freeSlabs = new int[Integer.SIZE];
+
+  /** The slabs of every vertex */
+  private int[] arena;
+
+  /** The number of slots of {@link #arena} that have been handed out as slabs */
+  private int arenaSize;
+
+  /**
+   * Construct a sparse graph with no edges.
+   *
+   * @param vertices
+   *   the number of vertices in this graph
+   */
+  public ArenaGraphImpl(int vertices) {
+    if (vertices <= 0) {
+      throw new IllegalArgumentException("Graphs require a positive number of vertices");
+    }
+
+    this.degrees = new int[vertices];
+    this.starts = new int[vertices];
+    this.capacityBits = new byte[vertices];
+    this.arena = new int[(int) Math.min((long) vertices << INITIAL_BITS, MAX_ARENA_LENGTH)];
+    Arrays.fill(freeSlabs, -1);
+  }
+
+  @Override
+  public void addEdge(int vertex1, int vertex2) {
+    checkVertexIndex(vertex1);
+    checkVertexIndex(vertex2);
+    checkVerticesNotEqual(vertex1, vertex2);
+
+    if (addNeighbor(vertex1, vertex2)) {
+      addNeighbor(vertex2, vertex1);
+    }
+  }
+
+  /**
+   * Add a neighbor to one vertex, relocating its slab if it's full.
+   *
+   * @return true if the neighbor was added, or false if it was already present
+   */
+  private boolean addNeighbor(int vertex, int neighbor) {
+    int degree = degrees[vertex];
+    if (capacityBits[vertex] == 0) {
+      starts[vertex] = allocateSlab(INITIAL_BITS);
+      capacityBits[vertex] = INITIAL_BITS;
+    } else if (indexOf(vertex, neighbor) >= 0) {
+      return false;
+    }
+
+    if (degree == 1 << capacityBits[vertex]) {
+      relocateSlab(vertex, capacityBits[vertex] + 1);
+    }
+
+    int start = starts[vertex];
+    int capacity = 1 << capacityBits[vertex];
+    arena[start + degree] = neighbor;
+    if (capacity > SCAN_CAPACITY) {
+      int base = start + capacity;
+      arena[base + findSlot(start, base, capacity * 2 - 1, neighbor)] = degree + 1;
+    }
+    degrees[vertex] = degree + 1;
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The vertex's slab is relocated to one with enough capacity, if needed.
+   */
+  @Override
+  public void ensureDegreeCapacity(int vertex, int degree) {
+    checkVertexIndex(vertex);
+    if (degree <= 0) {
+      return;
+    }
+
+    int bits = bitsFor(degree);
+    if (capacityBits[vertex] == 0) {
+      starts[vertex] = allocateSlab(bits);
+      capacityBits[vertex] = (byte) bits;
+    } else if (bits > capacityBits[vertex]) {
+      relocateSlab(vertex, bits);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The arena is grown once to fit every slab, and vertices that don't have a
+   * slab yet get consecutive slabs in order of id.
+   */
+  @Override
+  public void ensureDegreeCapacity(int degree) {
+    if (degree <= 0) {
+      return;
+    }
+
+    int bits = bitsFor(degree);
+    long needed = 0;
+    for (int v = 0; v < degrees.length; v++) {
+      if (capacityBits[v] < bits) {
+        needed += slabLength(bits);
+      }
+    }
+    ensureArenaLength(arenaSize + needed);
+
+    for (int v = 0; v < degrees.length; v++) {
+      ensureDegreeCapacity(v, degree);
+    }
+  }
+
+  /**
+   * @param degree
+   *   a positive degree
+   * @return the binary logarithm of the smallest slab capacity that fits the
+   *   degree
+   */
+  private static int bitsFor(int degree) {
+    return Math.max(INITIAL_BITS, Integer.SIZE - Integer.numberOfLeadingZeros(degree - 1));
+  }
+
+  /**
+   * Move a slab to a new, larger slab, and free the old one.
+   *
+   * @param vertex
+   *   the vertex whose slab to move
+   * @param bits
+   *   the binary logarithm of the capacity of the new slab
+   */
+  private void relocateSlab(int vertex, int bits) {
+    int oldStart = starts[vertex];
+    int oldBits = capacityBits[vertex];
+    int degree = degrees[vertex];
+
+    int start = allocateSlab(bits);
+    System.arraycopy(arena, oldStart, arena, start, degree);
+    int capacity = 1 << bits;
+    if (capacity > SCAN_CAPACITY) {
+      int base = start + capacity;
+      int mask = capacity * 2 - 1;
+      for (int i = 0; i < degree; i++) {
+        arena[base + findSlot(start, base, mask, arena[start + i])] = i + 1;
+      }
+    }
+
+    freeSlab(oldStart, oldBits);
+    starts[vertex] = start;
+    capacityBits[vertex] = (byte) bits;
+  }
+
+  @Override
+  public void removeEdge(int vertex1, int vertex2) {
+    checkVertexIndex(vertex1);
+    checkVertexIndex(vertex2);
+    checkVerticesNotEqual(vertex1, vertex2);
+
+    if (removeNeighbor(vertex1, vertex2)) {
+      removeNeighbor(vertex2, vertex1);
+    }
+  }
+
+  /**
+   * Remove a neighbor from one vertex.
+   *
+   * @return true if the neighbor was removed, or false if it wasn't present
+   */
+  private boolean removeNeighbor(int vertex, int neighbor) {
+    int index = indexOf(vertex, neighbor);
+    if (index < 0) {
+      return false;
+    }
+
+    int start = starts[vertex];
+    int capacity = 1 << capacityBits[vertex];
+    int last = degrees[vertex] - 1;
+    int moved = arena[start + last];
+    if (capacity > SCAN_CAPACITY) {
+      int base = start + capacity;
+      int mask = capacity * 2 - 1;
+      deleteSlot(start, base, mask, findSlot(start, base, mask, neighbor));
+      if (index != last) {
+        arena[base + findSlot(start, base, mask, moved)] = index + 1;
+      }
+    }
+    // Order doesn't matter, so fill the gap with the last neighbor
+    arena[start + index] = moved;
+    degrees[vertex] = last;
+    return true;
+  }
+
+  /**
+   * @return the position of the neighbor in the vertex's slab, or -1 if it
+   *   isn't present
+   */
+  private int indexOf(int vertex, int neighbor) {
+    int degree = degrees[vertex];
+    int start = starts[vertex];
+    int capacity = 1 << capacityBits[vertex];
+    if (capacity <= SCAN_CAPACITY) {
+      for (int i = start; i < start + degree; i++) {
+        if (arena[i] == neighbor) {
+          return i - start;
+        }
+      }
+      return -1;
+    }
+
+    int base = start + capacity;
+    int position = arena[base + findSlot(start, base, capacity * 2 - 1, neighbor)];
+    return position - 1;
+  }
+
+  /**
+   * Find the slot of a slab's hash index that holds a neighbor, or the empty
+   * slot where it would be inserted.
+   *
+   * @param start
+   *   the index of the slab in the arena
+   * @param base
+   *   the index of the slab's hash index in the arena
+   * @param mask
+   *   the number of slots of the hash index minus one
+   * @param neighbor
+   *   the neighbor to find
+   * @return the slot, relative to {@code base}
+   */
+  private int findSlot(int start, int base, int mask, int neighbor) {
+    int slot = hash(neighbor) & mask;
+    int position;
+    while ((position = arena[base + slot]) != 0 && arena[start + position - 1] != neighbor) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Empty a slot of a slab's hash index, shifting later entries of its probe
+   * sequence back so that lookups never need tombstones.
+   *
+   * @param start
+   *   the index of the slab in the arena
+   * @param base
+   *   the index of the slab's hash index in the arena
+   * @param mask
+   *   the number of slots of the hash index minus one
+   * @param slot
+   *   the slot to empty, relative to {@code base}
+   */
+  private void deleteSlot(int start, int base, int mask, int slot) {
+    int next = slot;
+    int position;
+    while ((position = arena[base + (next = (next + 1) & mask)]) != 0) {
+      int home = hash(arena[start + position - 1]) & mask;
+      // The entry can fill the gap unless its home is cyclically in (slot, next]
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        arena[base + slot] = position;
+        slot = next;
+      }
+    }
+    arena[base + slot] = 0;
+  }
+
+  /**
+   * A hash function that spreads consecutive ids, which are common among
+   * neighbors, across the hash index.
+   */
+  private static int hash(int x) {
+    x *= 0x9E3779B9;
+    return x ^ (x >>> 16);
+  }
+
+  /**
+   * @param bits
+   *   the binary logarithm of the slab's capacity
+   * @return the number of arena slots taken by a slab, including its hash
+   *   index
+   */
+  private static long slabLength(int bits) {
+    long capacity = 1L << bits;
+    return capacity <= SCAN_CAPACITY ? capacity : capacity * 3;
+  }
+
+  /**
+   * Take a slab from the free list, or from the end of the arena. The slab's
+   * hash index, if any, is empty.
+   *
+   * @param bits
+   *   the binary logarithm of the slab's capacity
+   * @return the index of the slab in the arena
+   * @throws IllegalStateException
+   *   if the arena can't be grown to fit the slab
+   */
+  private int allocateSlab(int bits) {
+    int start = freeSlabs[bits];
+    if (start >= 0) {
+      freeSlabs[bits] = arena[start];
+      int capacity = 1 << bits;
+      if (capacity > SCAN_CAPACITY) {
+        // A reused slab holds stale positions in its hash index
+        Arrays.fill(arena, start + capacity, start + capacity * 3, 0);
+      }
+      return start;
+    }
+
+    long end = arenaSize + slabLength(bits);
+    ensureArenaLength(end);
+    start = arenaSize;
+    arenaSize = (int) end;
+    return start;
+  }
+
+  /**
+   * Grow the arena, if needed, so that it has at least the given length.
+   *
+   * @throws IllegalStateException
+   *   if the length is larger than the largest possible arena
+   */
+  private void ensureArenaLength(long length) {
+    if (length > MAX_ARENA_LENGTH) {
+      throw new IllegalStateException("Graph has too many edges for ArenaGraphImpl");
+    }
+    if (length > arena.length) {
+      long grown = Math.max(length, arena.length + (arena.length >> 1));
+      arena = Arrays.copyOf(arena, (int) Math.min(grown, MAX_ARENA_LENGTH));
+    }
+  }
+
+  /**
+   * Push a slab onto the free list for its capacity.
+   */
+  private void freeSlab(int start, int bits) {
+    arena[start] = freeSlabs[bits];
+    freeSlabs[bits] = start;
+  }
+
+  @Override
+  public int size() {
+    return degrees.length;
+  }
+
+  @Override
+  public int getDegree(int vertex) {
+    checkVertexIndex(vertex);
+
+    return degrees[vertex];
+  }
+
+  @Override
+  public boolean hasEdge(int vertex1, int vertex2) {
+    checkVertexIndex(vertex1);
+    checkVertexIndex(vertex2);
+
+    return indexOf(vertex1, vertex2) >= 0;
+  }
+
+  @Override
+  public int getRandomNeighbor(int vertex, RandomGenerator random) {
+    checkVertexIndex(vertex);
+
+    int degree = degrees[vertex];
+    return degree == 0 ? -1 : arena[starts[vertex] + random.nextInt(degree)];
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The set is an unmodifiable view, so later changes to this graph are
+   * reflected in it.
+   */
+  @Override
+  public Set<Integer> getAllNeighbors(int vertex) {
+    checkVertexIndex(vertex);
+
+    return new NeighborSet(vertex);
+  }
+
+  @Override
+  public int getNeighbor(int vertex, int index) {
+    checkVertexIndex(vertex);
+
+    Objects.checkIndex(index, degrees[vertex]);
+    return arena[starts[vertex] + index];
+  }
+
+  @Override
+  public void forEachNeighbor(int vertex, IntConsumer action) {
+    checkVertexIndex(vertex);
+
+    int[] arena = this.arena;
+    int start = starts[vertex];
+    int end = start + degrees[vertex];
+    for (int i = start; i < end; i++) {
+      action.accept(arena[i]);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Every vertex keeps its slab, so rebuilding a graph of the same shape
+   * doesn't allocate.
+   */
+  @Override
+  public void clear() {
+    for (int v = 0; v < degrees.length; v++) {
+      int capacity = 1 << capacityBits[v];
+      if (capacity > SCAN_CAPACITY && degrees[v] > 0) {
+        int base = starts[v] + capacity;
+        Arrays.fill(arena, base, base + capacity * 2, 0);
+      }
+    }
+    Arrays.fill(degrees, 0);
+  }
+
+  /**
+   * @return the number of arena slots handed out as slabs, including free
+   *   slabs, for testing
+   */
+  int arenaSize() {
+    return arenaSize;
+  }
+
+  private void checkVertexIndex(int vertex) {
+    if (vertex < 0 || vertex >= size()) {
+      throw new IndexOutOfBoundsException(vertex);
+    }
+  }
+
+  private void checkVerticesNotEqual(int vertex1, int vertex2) {
+    if (vertex1 == vertex2) {
+      throw new UnsupportedOperationException("Self-looping edges are not supported");
+    }
+  }
+
+  /**
+   * An unmodifiable view of a single vertex's neighbors.
+   */
+  private final class NeighborSet extends AbstractSet<Integer> {
+    private final int vertex;
+
+    NeighborSet(int vertex) {
+      this.vertex = vertex;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer i && indexOf(vertex, i) >= 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+      return new PrimitiveIterator.OfInt() {
+        int pos = 0;
+
+        @Override
+        public boolean hasNext() {
+          return pos < degrees[vertex];
+        }
+
+        @Override
+        public int nextInt() {
+          if (pos >= degrees[vertex]) {
+            throw new NoSuchElementException();
+          }
+          return arena[starts[vertex] + pos++];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return degrees[vertex];
+    }
+  }
+}
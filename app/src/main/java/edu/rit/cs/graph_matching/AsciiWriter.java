@@ -0,0 +1,178 @@
+package edu.rit.cs.graph_matching;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A buffered writer for ASCII text that formats integers directly into bytes,
+ * avoiding the String allocation and character encoding of a
+ * {@link java.io.PrintWriter}. Only ASCII text may be written.
+ */
+final class AsciiWriter implements Closeable {
+  /** The default size of the buffer, in bytes */
+  static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  /** The longest possible formatted int, "-2147483648" */
+  private static final int MAX_INT_LENGTH = 11;
+
+  /** The underlying output stream */
+  private final OutputStream out;
+
+  /** The buffered bytes, in the range [0, position) */
+  private final byte[] buffer;
+
+  /** The number of bytes currently buffered */
+  private int position;
+
+  /**
+   * Create a writer with the default buffer size.
+   *
+   * @param out
+   *   the underlying output stream, which is closed along with this writer
+   */
+  AsciiWriter(OutputStream out) {
+    this(out, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Create a writer with a specific buffer size.
+   *
+   * @param out
+   *   the underlying output stream, which is closed along with this writer
+   * @param bufferSize
+   *   the size of the buffer, in bytes
+   */
+  AsciiWriter(OutputStream out, int bufferSize) {
+    this.out = out;
+    this.buffer = new byte[Math.max(bufferSize, MAX_INT_LENGTH)];
+  }
+
+  /**
+   * Write a single ASCII character.
+   *
+   * @param c
+   *   the character
+   * @return this writer
+   * @throws IOException
+   *   if an I/O error occurs
+   */
+  AsciiWriter write(char c) throws IOException {
+    if (position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = (byte) c;
+    return this;
+  }
+
+  /**
+   * Write an ASCII string.
+   *
+   * @param s
+   *   the string, which must only contain ASCII characters
+   * @return this writer
+   * @throws IOException
+   *   if an I/O error occurs
+   */
+  AsciiWriter write(String s) throws IOException {
+    int length = s.length();
+    for (int i = 0; i < length; i++) {
+      write(s.charAt(i));
+    }
+    return this;
+  }
+
+  /**
+   * Write the decimal representation of an int.
+   *
+   * @param value
+   *   the int
+   * @return this writer
+   * @throws IOException
+   *   if an I/O error occurs
+   */
+  AsciiWriter write(int value) throws IOException {
+    if (buffer.length - position < MAX_INT_LENGTH) {
+      flushBuffer();
+    }
+
+    if (value == Integer.MIN_VALUE) {
+      return write("-2147483648");
+    }
+    if (value < 0) {
+      buffer[position++] = '-';
+      value = -value;
+    }
+
+    // Write digits backwards, then reverse them in place
+    int start = position;
+    do {
+      buffer[position++] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value > 0);
+    for (int i = start, j = position - 1; i < j; i++, j--) {
+      byte tmp = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = tmp;
+    }
+    return this;
+  }
+
+  /**
+   * Write raw bytes, such as text formatted by another writer.
+   *
+   * @param bytes
+   *   the bytes, which must only contain ASCII text
+   * @param offset
+   *   the index of the first byte to write
+   * @param length
+   *   the number of bytes to write
+   * @return this writer
+   * @throws IOException
+   *   if an I/O error occurs
+   */
+  AsciiWriter write(byte[] bytes, int offset, int length) throws IOException {
+    if (length > buffer.length - position) {
+      flushBuffer();
+      if (length > buffer.length) {
+        // too big to be worth buffering
+        out.write(bytes, offset, length);
+        return this;
+      }
+    }
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position += length;
+    return this;
+  }
+
+  /**
+   * Write all buffered bytes to the underlying stream, without flushing it.
+   *
+   * @throws IOException
+   *   if an I/O error occurs
+   */
+  private void flushBuffer() throws IOException {
+    if (position > 0) {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  /**
+   * Write all buffered bytes to the underlying stream, and flush it.
+   *
+   * @throws IOException
+   *   if an I/O error occurs
+   */
+  void flush() throws IOException {
+    flushBuffer();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (out) {
+      flushBuffer();
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * An immutable undirected graph stored in compressed sparse row (CSR) format,
+ * with the following properties:
+ * <ul>
+ * <li>{@link #getRandomNeighbor(int, RandomGenerator)} runs in O(1) time</li>
+ * <li>{@link #getAllNeighbors(int)} runs in O(1) time</li>
+ * <li>{@link #hasEdge(int, int)} runs in O(log d) time</li>
+ * <li>{@link #getNeighbor(int, int)} runs in O(1) time</li>
+ * </ul>
+ * <p>
+ * All adjacencies live in two flat arrays, so this graph uses far less memory
+ * than {@link SparseGraphImpl} and has much better cache locality. It is
+ * intended for algorithms that only read the graph; build the graph with a
+ * {@link MutableGraph}, then convert it using {@link MutableGraph#freeze()}.
+ */
+public class CompressedGraphImpl implements Graph {
+  /**
+   * The neighbors of vertex v are stored in {@link #neighbors} in the range
+   * [offsets[v], offsets[v + 1]). Has length n + 1.
+   */
+  private final int[] offsets;
+
+  /**
+   * The concatenated neighbor lists of every vertex. Each vertex's neighbors
+   * are sorted in ascending order.
+   */
+  private final int[] neighbors;
+
+  /**
+   * Construct a compressed copy of another graph. Later changes to
+   * {@code source} are not reflected in this graph.
+   *
+   * @param source
+   *   the graph to copy
+   * @throws IllegalArgumentException
+   *   if {@code source} has too many edges to be stored in a single array
+   */
+  public CompressedGraphImpl(Graph source) {
+    int n = source.size();
+
+    this.offsets = new int[n + 1];
+    long total = 0;
+    for (int v = 0; v < n; v++) {
+      offsets[v] = (int) total;
+      total += source.getDegree(v);
+      if (total > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Graph has too many edges for CompressedGraphImpl");
+      }
+    }
+    offsets[n] = (int) total;
+
+    this.neighbors = new int[(int) total];
+    for (int v = 0; v < n; v++) {
+      int start = offsets[v];
+      int degree = offsets[v + 1] - start;
+      for (int i = 0; i < degree; i++) {
+        neighbors[start + i] = source.getNeighbor(v, i);
+      }
+      Arrays.sort(neighbors, offsets[v], offsets[v + 1]);
+    }
+  }
+
+  /**
+   * Wrap existing adjacency arrays without copying or validating them. Each
+   * vertex's neighbors must be sorted in ascending order without duplicates,
+   * and the caller must not modify the arrays afterwards.
+   *
+   * @param offsets
+   *   the start of each vertex's neighbors, followed by the total count
+   * @param neighbors
+   *   the concatenated neighbor lists of every vertex
+   */
+  CompressedGraphImpl(int[] offsets, int[] neighbors) {
+    this.offsets = offsets;
+    this.neighbors = neighbors;
+  }
+
+  @Override
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  @Override
+  public int getDegree(int vertex) {
+    checkVertexIndex(vertex);
+
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  @Override
+  public boolean hasEdge(int vertex1, int vertex2) {
+    checkVertexIndex(vertex1);
+    checkVertexIndex(vertex2);
+
+    return Arrays.binarySearch(neighbors, offsets[vertex1], offsets[vertex1 + 1], vertex2) >= 0;
+  }
+
+  @Override
+  public int getRandomNeighbor(int vertex, RandomGenerator random) {
+    checkVertexIndex(vertex);
+
+    int start = offsets[vertex];
+    int degree = offsets[vertex + 1] - start;
+    return degree == 0 ? -1 : neighbors[start + random.nextInt(degree)];
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned set is an unmodifiable view, and iterates over neighbors in
+   * ascending order.
+   */
+  @Override
+  public Set<Integer> getAllNeighbors(int vertex) {
+    checkVertexIndex(vertex);
+
+    return new NeighborSet(offsets[vertex], offsets[vertex + 1]);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Neighbors are indexed in ascending order.
+   */
+  @Override
+  public int getNeighbor(int vertex, int index) {
+    checkVertexIndex(vertex);
+
+    int start = offsets[vertex];
+    Objects.checkIndex(index, offsets[vertex + 1] - start);
+    return neighbors[start + index];
+  }
+
+  @Override
+  public void forEachNeighbor(int vertex, IntConsumer action) {
+    checkVertexIndex(vertex);
+
+    int end = offsets[vertex + 1];
+    for (int i = offsets[vertex]; i < end; i++) {
+      action.accept(neighbors[i]);
+    }
+  }
+
+  /**
+   * Gets the total number of edges in this graph.
+   *
+   * @return the number of edges
+   */
+  public int edgeCount() {
+    return neighbors.length / 2;
+  }
+
+  private void checkVertexIndex(int vertex) {
+    if (vertex < 0 || vertex >= size()) {
+      throw new IndexOutOfBoundsException(vertex);
+    }
+  }
+
+  /**
+   * An unmodifiable view of a single vertex's slice of {@link #neighbors}.
+   */
+  private final class NeighborSet extends AbstractSet<Integer> {
+    /** The first index of the slice, inclusive */
+    private final int from;
+    /** The last index of the slice, exclusive */
+    private final int to;
+
+    NeighborSet(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer i && Arrays.binarySearch(neighbors, from, to, i) >= 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+      return new PrimitiveIterator.OfInt() {
+        int pos = from;
+
+        @Override
+        public boolean hasNext() {
+          return pos < to;
+        }
+
+        @Override
+        public int nextInt() {
+          if (pos >= to) {
+            throw new NoSuchElementException();
+          }
+          return neighbors[pos++];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
@@ -1,26 +1,52 @@
 package edu.rit.cs.graph_matching;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.LinkedHashSet;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * An implementation of the Dani-Hayes randomized algorithm for generating
  * matchings on regular graphs: https://doi.org/10.1137/1.9781611978322.166
  * <p>
- * At any time, the algorithm can be terminated by interrupting its thread. This
- * will not throw an {@link InterruptedException}, nor will the algorithm clear
- * the interruption. The algorithm will immediately return the matching it has
- * found thus far regardless of its size.
+ * A run can be bounded by a {@link Budget}, limiting its wall-clock time, the
+ * number of GROW_PATH steps, and the number of graph queries. Apart from the
+ * step limit, budgets are only checked periodically, so a limit may be exceeded
+ * slightly before the run stops.
+ * <p>
+ * At any time, the algorithm can also be terminated by interrupting its thread.
+ * This will not throw an {@link InterruptedException}, nor will the algorithm
+ * clear the interruption. Interruption is checked along with the budget, after
+ * which the algorithm returns the matching it has found thus far regardless of
+ * its size.
+ * <p>
+ * The matching persists between runs, so every call to a generate method
+ * resumes from the matching left behind by the previous one. This allows e.g.
+ * recording matching size against time by generating successively larger
+ * matchings. The matching can also be exported and imported as an array of
+ * matches, to be continued by another instance or solver.
+ * <p>
+ * The progress of a run can be observed with a {@link Listener}, which is
+ * notified of every restart, cycle repair and augmentation; see
+ * {@link DaniHayesStatistics} for one that aggregates these into histograms.
+ * Without a listener, every notification goes to no-op default methods, and
+ * augmentations are not timed.
  */
 public class DaniHayesAlgorithm {
+  /** The number of GROW_PATH steps between budget checks */
+  private static final int CHECK_INTERVAL = 1024;
+
   /** The input graph */
   private final Graph graph;
 
   /** The random number generator used by the algorithm */
   private final Random random;
 
+  /** Notified of the algorithm's progress */
+  private final Listener listener;
+
+  /** Whether augmentations are timed for {@link #listener} */
+  private final boolean timed;
+
   /**
    * Tracks the matching edge of each vertex:
    * <ul>
@@ -61,6 +87,43 @@ public class DaniHayesAlgorithm {
   /** The id of the current ALP */
   private int pathId;
 
+  /** The budget of the current run */
+  private Budget budget;
+
+  /** The value of {@link System#nanoTime()} when the current run started */
+  private long startTime;
+
+  /** The number of GROW_PATH steps taken in the current run */
+  private long steps;
+
+  /** The number of graph queries made in the current run */
+  private long queries;
+
+  /** The step count at which the budget is next checked */
+  private long nextCheck;
+
+  /** Why the current run stopped, or null if it hasn't */
+  private Termination termination;
+
+  /**
+   * The number of restarts of the current search for an augmenting path,
+   * including those of earlier runs that stopped before the search finished
+   */
+  private int restarts;
+
+  /**
+   * The number of GROW_PATH steps taken by the current search for an
+   * augmenting path, including those of earlier runs that stopped before the
+   * search finished
+   */
+  private long searchSteps;
+
+  /**
+   * The wall-clock time spent on the current search for an augmenting path by
+   * earlier runs that stopped before the search finished, in nanoseconds
+   */
+  private long searchNanos;
+
   /**
    * Initialize the algorithm with a particular input graph and a pre-seeded
    * random number generator.
@@ -71,19 +134,33 @@ public class DaniHayesAlgorithm {
    *   the random number generator to be used by the algorithm.
    */
   public DaniHayesAlgorithm(Graph graph, Random random) {
+    this(graph, random, Listener.NONE);
+  }
+
+  /**
+   * Initialize the algorithm with a particular input graph, a pre-seeded
+   * random number generator, and a listener notified of its progress.
+   *
+   * @param graph
+   *   the input graph
+   * @param random
+   *   the random number generator to be used by the algorithm.
+   * @param listener
+   *   the listener notified of the algorithm's progress
+   */
+  public DaniHayesAlgorithm(Graph graph, Random random, Listener listener) {
     this.graph = graph;
     this.random = random;
+    this.listener = listener;
+    this.timed = listener != Listener.NONE;
 
     this.matches = new int[graph.size()];
     this.adjacents = new int[graph.size()];
     this.inPath = new int[graph.size()];
-    this.unmatched = new IntHashSet();
+    this.unmatched = new IntHashSet(graph.size());
 
     Arrays.fill(matches, -1);
-    for (int v = 0; v < graph.size(); v++) {
-      unmatched.add(v);
-    }
-    clearPath();
+    rebuildUnmatched();
   }
 
   /**
@@ -98,19 +175,14 @@ public class DaniHayesAlgorithm {
   }
 
   /**
-   * A helper that generates the set of matched edges from the algorithm's
-   * internal representation.
+   * A helper that snapshots the algorithm's internal representation as a
+   * matching. The matches array is copied, since later runs continue to modify
+   * it.
    *
    * @return the matching generated by the algorithm
    */
-  private Set<Edge> convertResult() {
-    Set<Edge> matching = new LinkedHashSet<>();
-    for (int v = 0; v < graph.size(); v++) {
-      if (matches[v] != -1) {
-        matching.add(new Edge(v, matches[v]));
-      }
-    }
-    return matching;
+  private Matching convertResult() {
+    return new Matching(matches.clone());
   }
 
   /**
@@ -122,7 +194,7 @@ public class DaniHayesAlgorithm {
    *
    * @return the generated matching
    */
-  public Set<Edge> generateMatching() {
+  public Matching generateMatching() {
     double averageDegree = 0;
     for (int v = 0; v < graph.size(); v++) {
       averageDegree += graph.getDegree(v);
@@ -130,7 +202,7 @@ public class DaniHayesAlgorithm {
     averageDegree /= graph.size();
 
     double edgeCount = graph.size() / 2.0 * (1.0 - 1.0 / (Math.floor(averageDegree) + 1.0));
-    buildMatching((int) Math.ceil(edgeCount));
+    buildMatching((int) Math.ceil(edgeCount), Budget.UNLIMITED);
     return convertResult();
   }
 
@@ -142,8 +214,8 @@ public class DaniHayesAlgorithm {
    *
    * @return a perfect or near-perfect matching, if one exists
    */
-  public Set<Edge> generatePerfectMatching() {
-    buildMatching(graph.size() / 2);
+  public Matching generatePerfectMatching() {
+    buildMatching(graph.size() / 2, Budget.UNLIMITED);
     return convertResult();
   }
 
@@ -155,35 +227,145 @@ public class DaniHayesAlgorithm {
    *   the number of edges in the matching in the range [0, n/2]
    * @return the generated matching
    */
-  public Set<Edge> generateMatching(int edgeCount) {
-    buildMatching(edgeCount);
+  public Matching generateMatching(int edgeCount) {
+    buildMatching(edgeCount, Budget.UNLIMITED);
     return convertResult();
   }
 
+  /**
+   * Generates a matching with the specified number of edges, stopping early if
+   * the budget is exhausted.
+   *
+   * @param edgeCount
+   *   the number of edges in the matching in the range [0, n/2]
+   * @param budget
+   *   the resource limits of this run
+   * @return the generated matching, along with why and when the run stopped
+   */
+  public Result generateMatching(int edgeCount, Budget budget) {
+    Termination termination = buildMatching(edgeCount, budget);
+    long elapsed = System.nanoTime() - startTime;
+    return new Result(convertResult(), termination, steps, queries, elapsed);
+  }
+
+  /**
+   * @return the number of edges in the current matching
+   */
+  public int getMatchingSize() {
+    return (graph.size() - unmatched.size()) / 2;
+  }
+
+  /**
+   * @return the current matching
+   */
+  public Matching getMatching() {
+    return convertResult();
+  }
+
+  /**
+   * Discard the current matching, so that the next run starts from scratch.
+   */
+  public void reset() {
+    Arrays.fill(matches, -1);
+    rebuildUnmatched();
+  }
+
+  /**
+   * Export the current matching as an array of matches, such that
+   * {@code matches[v]} is the vertex matched with v, or -1 if v is unmatched.
+   *
+   * @return a copy of the matches array
+   */
+  public int[] exportMatches() {
+    return matches.clone();
+  }
+
+  /**
+   * Replace the current matching with the given one, so that the next run
+   * continues from it.
+   *
+   * @param matches
+   *   an array in the format of {@link #exportMatches()}
+   * @throws IllegalArgumentException
+   *   if the array does not describe a valid matching on the input graph
+   */
+  public void importMatches(int[] matches) {
+    int n = graph.size();
+    if (matches.length != n) {
+      throw new IllegalArgumentException("Expected " + n + " matches, got " + matches.length);
+    }
+    for (int v = 0; v < n; v++) {
+      int w = matches[v];
+      if (w == -1) {
+        continue;
+      }
+      if (w < 0 || w >= n || w == v || matches[w] != v) {
+        throw new IllegalArgumentException("Matches are not a valid matching at vertex " + v);
+      }
+      if (w > v && !graph.hasEdge(v, w)) {
+        throw new IllegalArgumentException(
+            "Matches contain a nonexistent edge: " + new Edge(v, w));
+      }
+    }
+
+    System.arraycopy(matches, 0, this.matches, 0, n);
+    rebuildUnmatched();
+  }
+
+  /**
+   * Recompute the set of unmatched vertices from the matches array, and clear
+   * the ALP.
+   */
+  private void rebuildUnmatched() {
+    restarts = 0;
+    searchSteps = 0;
+    searchNanos = 0;
+    unmatched.clear();
+    for (int v = 0; v < graph.size(); v++) {
+      if (matches[v] == -1) {
+        unmatched.add(v);
+      }
+    }
+    clearPath();
+  }
+
   /**
    * The BUILD_MATCHING procedure as specified in the paper. Modified only to
-   * allow interruption of the algorithm by the user for the purpose of e.g.
-   * timeouts, and to parameterize the minimum matching size.
+   * stop early when the budget is exhausted or the thread is interrupted, and
+   * to parameterize the minimum matching size.
    *
    * @param edgeCount
    *   the minimum number of edges in the matching
+   * @param budget
+   *   the resource limits of this run
+   * @return why the run stopped
    */
-  private void buildMatching(int edgeCount) {
+  private Termination buildMatching(int edgeCount, Budget budget) {
     if (edgeCount < 0 || edgeCount > graph.size() / 2) {
       throw new IllegalArgumentException("Expected edgeCount to be in the range [0, n/2]");
     }
 
-    // Loop could run indefinitely; allow interruption for e.g. timeouts
+    this.budget = budget;
+    this.startTime = System.nanoTime();
+    this.steps = 0;
+    this.queries = 0;
+    this.nextCheck = 0;
+    this.termination = null;
+
     int maxUnmatched = graph.size() - edgeCount * 2;
-    while (unmatched.size() > maxUnmatched
-        && !Thread.currentThread()
-                  .isInterrupted()) {
+    while (unmatched.size() > maxUnmatched) {
+      long searchStart = timed ? System.nanoTime() : 0;
       if (!findAugmentingPath()) {
-        break;
+        // Carry the search's progress over to the run that resumes it
+        if (timed) {
+          searchNanos += System.nanoTime() - searchStart;
+        }
+        return termination;
       }
 
       // We have an augmenting path; augment it
 
+      int pathLength = 1;
       int vertex = start;
       while (true) {
         int next = getAdjacent(vertex);
@@ -196,23 +378,31 @@ public class DaniHayesAlgorithm {
         int nextNext = getMatch(next);
         setMatch(vertex, next);
         vertex = nextNext;
+        pathLength += 2;
       }
       unmatched.remove(start);
       unmatched.remove(head);
+
+      listener.onAugment(pathLength, searchSteps, restarts,
+          timed ? searchNanos + System.nanoTime() - searchStart : 0);
+      restarts = 0;
+      searchSteps = 0;
+      searchNanos = 0;
     }
+
+    return Termination.TARGET_REACHED;
   }
 
   /**
    * The FIND_AUGMENTING_PATH(M) procedure as specified in the paper. Modified
-   * only to allow interruption of the algorithm by the user for the purpose of
-   * e.g. timeouts.
+   * only to stop early when the budget is exhausted or the thread is
+   * interrupted.
    *
-   * @return false if the algorithm was interrupted
+   * @return false if the run was stopped early
    */
   private boolean findAugmentingPath() {
-    // Loop could run indefinitely; allow interruption for e.g. timeouts
-    while (!Thread.currentThread()
-                  .isInterrupted()) {
+    // Loop could run indefinitely; stop when the budget runs out
+    while (true) {
       clearPath();
 
       start = unmatched.getRandom(random);
@@ -221,14 +411,45 @@ public class DaniHayesAlgorithm {
 
       PathStatus status = PathStatus.ACTIVE;
       while (status == PathStatus.ACTIVE) {
+        if (steps >= nextCheck && isBudgetExhausted()) {
+          return false;
+        }
+        steps++;
+        searchSteps++;
         status = growPath();
       }
       if (status != PathStatus.FAIL) {
         return true;
       }
+
+      restarts++;
+      listener.onRestart();
     }
+  }
 
-    return false;
+  /**
+   * Check every limit of the current run, and schedule the next check if none
+   * have been reached. The step limit is always checked exactly; the others
+   * are only checked every {@link #CHECK_INTERVAL} steps.
+   *
+   * @return true iff the run should stop, in which case {@link #termination}
+   *   is set
+   */
+  private boolean isBudgetExhausted() {
+    if (steps >= budget.maxSteps()) {
+      termination = Termination.STEP_LIMIT;
+    } else if (queries >= budget.maxQueries()) {
+      termination = Termination.QUERY_LIMIT;
+    } else if (System.nanoTime() - startTime >= budget.timeLimitNanos()) {
+      termination = Termination.DEADLINE;
+    } else if (Thread.currentThread()
+                     .isInterrupted()) {
+      termination = Termination.INTERRUPTED;
+    } else {
+      nextCheck = Math.min(steps + CHECK_INTERVAL, budget.maxSteps());
+      return false;
+    }
+    return true;
   }
 
   /**
@@ -238,7 +459,9 @@ public class DaniHayesAlgorithm {
    */
   private PathStatus growPath() {
     // Detect cases where there are no valid choices for v0
-    if (graph.getDegree(head) < 2 && (head != start || graph.getDegree(head) == 0)) {
+    queries++;
+    int headDegree = graph.getDegree(head);
+    if (headDegree < 2 && (head != start || headDegree == 0)) {
       return PathStatus.FAIL;
     }
 
@@ -247,6 +470,7 @@ public class DaniHayesAlgorithm {
     int headMatch = getMatch(head);
     int v0;
     do {
+      queries++;
       v0 = graph.getRandomNeighbor(head, random);
     } while (v0 == headMatch);
 
@@ -291,6 +515,7 @@ public class DaniHayesAlgorithm {
       removeEdge(w);
       removeVertex(w);
 
+      queries++;
       if (graph.hasEdge(vP, head) && head != wP) {
         // Shortcut (Odd Cycle)
 
@@ -299,6 +524,7 @@ public class DaniHayesAlgorithm {
 
         addVertex(w0);
         head = w0;
+        listener.onRepair(Repair.SHORTCUT);
         return PathStatus.ACTIVE;
       } else if (wP == head) {
         // Pop (Even Cycle)
@@ -309,8 +535,10 @@ public class DaniHayesAlgorithm {
 
         addVertex(w0);
         head = w0;
+        listener.onRepair(Repair.POP);
         return PathStatus.ACTIVE;
       } else if (vP == start) {
+        listener.onRepair(Repair.FAIL);
         return PathStatus.FAIL;
       }
 
@@ -321,6 +549,154 @@ public class DaniHayesAlgorithm {
     }
   }
 
+  /**
+   * Resource limits for a single run of the algorithm. Every limit defaults to
+   * unlimited; use the {@code with} methods to add limits to
+   * {@link #UNLIMITED}.
+   *
+   * @param timeLimitNanos
+   *   the maximum wall-clock time of the run, in nanoseconds
+   * @param maxSteps
+   *   the maximum number of GROW_PATH steps
+   * @param maxQueries
+   *   the maximum number of queries to the graph
+   */
+  public record Budget(long timeLimitNanos, long maxSteps, long maxQueries) {
+    /** A budget without any limits */
+    public static final Budget UNLIMITED = new Budget(Long.MAX_VALUE, Long.MAX_VALUE,
+        Long.MAX_VALUE);
+
+    public Budget {
+      if (timeLimitNanos < 0 || maxSteps < 0 || maxQueries < 0) {
+        throw new IllegalArgumentException("Budget limits must be non-negative");
+      }
+    }
+
+    /**
+     * @param timeLimit
+     *   the maximum wall-clock time of the run
+     * @return a copy of this budget with the given time limit
+     */
+    public Budget withTimeLimit(Duration timeLimit) {
+      long nanos;
+      try {
+        nanos = timeLimit.toNanos();
+      } catch (ArithmeticException e) {
+        nanos = timeLimit.isNegative() ? -1 : Long.MAX_VALUE;
+      }
+      return new Budget(nanos, maxSteps, maxQueries);
+    }
+
+    /**
+     * @param maxSteps
+     *   the maximum number of GROW_PATH steps
+     * @return a copy of this budget with the given step limit
+     */
+    public Budget withMaxSteps(long maxSteps) {
+      return new Budget(timeLimitNanos, maxSteps, maxQueries);
+    }
+
+    /**
+     * @param maxQueries
+     *   the maximum number of queries to the graph
+     * @return a copy of this budget with the given query limit
+     */
+    public Budget withMaxQueries(long maxQueries) {
+      return new Budget(timeLimitNanos, maxSteps, maxQueries);
+    }
+  }
+
+  /**
+   * The reason a run of the algorithm stopped.
+   */
+  public enum Termination {
+    /** The matching reached the requested size */
+    TARGET_REACHED,
+    /** The time limit was reached */
+    DEADLINE,
+    /** The step limit was reached */
+    STEP_LIMIT,
+    /** The query limit was reached */
+    QUERY_LIMIT,
+    /** The thread was interrupted */
+    INTERRUPTED;
+  }
+
+  /**
+   * The outcome of a local repair, when GROW_PATH closes a cycle in the ALP.
+   */
+  public enum Repair {
+    /** The cycle is odd, and the ALP was shortcut through it */
+    SHORTCUT,
+    /** The cycle is even, and its closing edges were popped off the ALP */
+    POP,
+    /** The repair unwound the ALP back to its start, so the search restarts */
+    FAIL;
+  }
+
+  /**
+   * Observes the progress of the algorithm, for instrumentation. Every method
+   * does nothing by default, and {@link #NONE} doesn't override any of them.
+   * Augmentations are only timed when a listener other than {@link #NONE} is
+   * given. Listeners are called on the thread running the algorithm, within
+   * its inner loop, so they should be cheap.
+   */
+  public interface Listener {
+    /** A listener that ignores every notification */
+    Listener NONE = new Listener() {};
+
+    /**
+     * Called when the search for an augmenting path fails and restarts from
+     * a new random unmatched vertex.
+     */
+    default void onRestart() {}
+
+    /**
+     * Called when GROW_PATH closes a cycle in the ALP and repairs it.
+     *
+     * @param repair
+     *   the outcome of the repair
+     */
+    default void onRepair(Repair repair) {}
+
+    /**
+     * Called after each augmentation of the matching.
+     *
+     * @param pathLength
+     *   the number of edges in the augmenting path
+     * @param steps
+     *   the number of GROW_PATH steps taken to find the path, including those
+     *   of failed attempts and of earlier runs stopped during the search
+     * @param restarts
+     *   the number of failed attempts before the path was found, including
+     *   those of earlier runs stopped during the search
+     * @param elapsedNanos
+     *   the wall-clock time taken to find the path and augment it, including
+     *   that of earlier runs stopped during the search, in nanoseconds
+     */
+    default void onAugment(int pathLength, long steps, int restarts, long elapsedNanos) {}
+  }
+
+  /**
+   * The outcome of a budgeted run of the algorithm.
+   *
+   * @param matching
+   *   the matching found
+   * @param termination
+   *   why the run stopped
+   * @param steps
+   *   the number of GROW_PATH steps taken
+   * @param queries
+   *   the number of queries made to the graph
+   * @param elapsedNanos
+   *   the wall-clock time of the run, in nanoseconds
+   */
+  public record Result(Matching matching,
+                       Termination termination,
+                       long steps,
+                       long queries,
+                       long elapsedNanos) {}
+
   /**
    * The possible results of {@link DaniHayesAlgorithm#growPath()}
    */
@@ -0,0 +1,261 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A {@link DaniHayesAlgorithm.Listener} that aggregates the progress of the
+ * algorithm into counters and histograms, to show where its time goes and how
+ * heavy the tail of the augmentation cost is. Pass one to
+ * {@link DaniHayesAlgorithm#DaniHayesAlgorithm(Graph, java.util.Random, DaniHayesAlgorithm.Listener)}
+ * and read it once the run is over.
+ * <p>
+ * This class is not thread-safe; use one instance per algorithm instance.
+ */
+public class DaniHayesStatistics implements DaniHayesAlgorithm.Listener {
+  /** The number of restarts of the search for an augmenting path */
+  private long restarts;
+
+  /** The number of local repairs with each outcome, by ordinal */
+  private final long[] repairs = new long[DaniHayesAlgorithm.Repair.values().length];
+
+  /** The number of edges in each augmenting path */
+  private final Histogram pathLengths = new Histogram();
+
+  /** The number of GROW_PATH steps taken per augmentation */
+  private final Histogram steps = new Histogram();
+
+  /** The number of restarts per augmentation */
+  private final Histogram restartsPerAugmentation = new Histogram();
+
+  /** The wall-clock time per augmentation, in nanoseconds */
+  private final Histogram augmentationNanos = new Histogram();
+
+  @Override
+  public void onRestart() {
+    restarts++;
+  }
+
+  @Override
+  public void onRepair(DaniHayesAlgorithm.Repair repair) {
+    repairs[repair.ordinal()]++;
+  }
+
+  @Override
+  public void onAugment(int pathLength, long steps, int restarts, long elapsedNanos) {
+    pathLengths.record(pathLength);
+    this.steps.record(steps);
+    restartsPerAugmentation.record(restarts);
+    augmentationNanos.record(elapsedNanos);
+  }
+
+  /**
+   * @return the number of times the search for an augmenting path restarted
+   */
+  public long getRestartCount() {
+    return restarts;
+  }
+
+  /**
+   * @param repair
+   *   an outcome of a local repair
+   * @return the number of local repairs with that outcome
+   */
+  public long getRepairCount(DaniHayesAlgorithm.Repair repair) {
+    return repairs[repair.ordinal()];
+  }
+
+  /**
+   * @return the number of augmentations
+   */
+  public long getAugmentationCount() {
+    return pathLengths.count();
+  }
+
+  /**
+   * @return the number of edges in each augmenting path
+   */
+  public Histogram getPathLengths() {
+    return pathLengths;
+  }
+
+  /**
+   * @return the number of GROW_PATH steps taken per augmentation
+   */
+  public Histogram getSteps() {
+    return steps;
+  }
+
+  /**
+   * @return the number of restarts per augmentation
+   */
+  public Histogram getRestarts() {
+    return restartsPerAugmentation;
+  }
+
+  /**
+   * @return the wall-clock time per augmentation, in nanoseconds
+   */
+  public Histogram getAugmentationNanos() {
+    return augmentationNanos;
+  }
+
+  /**
+   * Reset every counter and histogram.
+   */
+  public void reset() {
+    restarts = 0;
+    Arrays.fill(repairs, 0);
+    pathLengths.reset();
+    steps.reset();
+    restartsPerAugmentation.reset();
+    augmentationNanos.reset();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("augmentations=")
+           .append(getAugmentationCount())
+           .append(", restarts=")
+           .append(restarts);
+    for (DaniHayesAlgorithm.Repair repair : DaniHayesAlgorithm.Repair.values()) {
+      builder.append(", ")
+             .append(repair.name()
+                           .toLowerCase(Locale.ROOT))
+             .append('=')
+             .append(repairs[repair.ordinal()]);
+    }
+    return builder.append("\npath lengths: ")
+                  .append(pathLengths)
+                  .append("\nsteps: ")
+                  .append(steps)
+                  .append("\nrestarts: ")
+                  .append(restartsPerAugmentation)
+                  .append("\nnanos: ")
+                  .append(augmentationNanos)
+                  .toString();
+  }
+
+  /**
+   * A histogram of non-negative values with power-of-two buckets: bucket 0
+   * holds the value 0, and bucket i > 0 holds the values in [2^(i-1), 2^i).
+   * Recording a value takes constant time and the histogram has a fixed size,
+   * while still resolving the tail of a heavy-tailed distribution to within a
+   * factor of two.
+   */
+  public static final class Histogram {
+    /** The number of buckets, enough for any non-negative long */
+    public static final int BUCKET_COUNT = 64;
+
+    /** The number of values in each bucket */
+    private final long[] buckets = new long[BUCKET_COUNT];
+
+    /** The number of values recorded */
+    private long count;
+
+    /** The sum of the values recorded */
+    private long sum;
+
+    /** The largest value recorded */
+    private long max;
+
+    /**
+     * Record a value.
+     *
+     * @param value
+     *   the value, which must be non-negative
+     */
+    public void record(long value) {
+      buckets[bucket(value)]++;
+      count++;
+      sum += value;
+      max = Math.max(max, value);
+    }
+
+    /**
+     * @param value
+     *   a non-negative value
+     * @return the index of the bucket holding the value
+     */
+    public static int bucket(long value) {
+      return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * @param bucket
+     *   the index of a bucket
+     * @return the number of values recorded in the bucket
+     */
+    public long bucketCount(int bucket) {
+      return buckets[bucket];
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long count() {
+      return count;
+    }
+
+    /**
+     * @return the sum of the values recorded
+     */
+    public long sum() {
+      return sum;
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if there are none
+     */
+    public long max() {
+      return max;
+    }
+
+    /**
+     * @return the mean of the values recorded, or NaN if there are none
+     */
+    public double mean() {
+      return (double) sum / count;
+    }
+
+    /**
+     * Estimate a quantile of the values recorded, to within a factor of two.
+     *
+     * @param q
+     *   the quantile in the range [0, 1]
+     * @return an upper bound on the quantile, or 0 if there are no values
+     */
+    public long quantile(double q) {
+      if (q < 0.0 || q > 1.0) {
+        throw new IllegalArgumentException("Quantile must be between 0 and 1");
+      }
+
+      long rank = (long) Math.ceil(q * count);
+      long seen = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        seen += buckets[i];
+        if (seen >= rank && seen > 0) {
+          return Math.min(i == 0 ? 0 : (1L << i) - 1, max);
+        }
+      }
+      return max;
+    }
+
+    /**
+     * Reset the histogram to its initial, empty state.
+     */
+    public void reset() {
+      Arrays.fill(buckets, 0);
+      count = 0;
+      sum = 0;
+      max = 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("count=%d, mean=%.2f, p50<=%d, p99<=%d, max=%d", count, mean(),
+          quantile(0.5), quantile(0.99), max);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import java.util.BitSet;
  * <li>{@link #getRandomNeighbor(int)} runs in O(1) time</li>
  * <li>{@link #getAllNeighbors(int)} runs in O(1) time</li>
  * <li>{@link #hasEdge(int, int)} runs in O(1) time</li>
+ * <li>{@link #getNeighbor(int, int)} runs in O(1) time</li>
  * </ul>
  * <p>
  * Dense graphs are limited to 65536 vertices or fewer.
@@ -1,7 +1,5 @@
 package edu.rit.cs.graph_matching;
 
-import java.util.Objects;
-
 /**
  * An edge in an undirected graph. Vertex order does not matter; edges with the
  * same vertices in the opposite order are treated as equal.
@@ -17,7 +15,21 @@ public record Edge(int vertex1,
 
   @Override
   public final int hashCode() {
+    return hashCode(vertex1, vertex2);
+  }
+
+  /**
+   * Compute the hash code of an edge without creating it. Equivalent to
+   * {@code Objects.hash(min, max)}, without boxing either vertex.
+   *
+   * @param vertex1
+   *   the first vertex
+   * @param vertex2
+   *   the second vertex
+   * @return the hash code of the edge
+   */
+  static int hashCode(int vertex1, int vertex2) {
     // Ensure that swapping the vertices doesn't affect the hash
-    return Objects.hash(Math.min(vertex1, vertex2), Math.max(vertex1, vertex2));
+    return 31 * (31 + Math.min(vertex1, vertex2)) + Math.max(vertex1, vertex2);
   }
 }
@@ -1,9 +1,6 @@
 package edu.rit.cs.graph_matching;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Queue;
 import java.util.Set;
 
 /**
@@ -11,11 +8,25 @@ import java.util.Set;
  * graph. Adapted from Rosetta Code:
  * https://rosettacode.org/wiki/Blossom_algorithm#Java. Added documentation, and
  * slightly rewrote some parts for performance and readability.
+ * <p>
+ * All scratch space used while searching for augmenting paths is allocated
+ * once up front, so the search itself performs no allocation. Each search only
+ * resets the vertices it touched, and blossom contraction only visits the
+ * vertices inside the blossom, so the cost of a search scales with the region
+ * it explores rather than with the size of the graph.
+ * <p>
+ * Rather than starting from an empty matching, the solver can be warm-started
+ * with a cheap heuristic (see {@link Initialization}) or with a matching found
+ * by another algorithm, so the blossom phase only has to repair the remaining
+ * deficiency.
  */
 public class EdmondsAlgorithm {
   /** The input graph */
   private final Graph graph;
 
+  /** The heuristic used to build the initial matching */
+  private final Initialization initialization;
+
   /**
    * matches[v] = vertex matched with vertex v, or -1 if unmatched
    */
@@ -32,17 +43,105 @@ public class EdmondsAlgorithm {
   private final int[] bases;
 
   /**
-   * Create a blossom matching solver for the given graph.
+   * Links the vertices of each blossom into a circular list: the members of
+   * the blossom with base b are b, blossomNext[b], blossomNext[blossomNext[b]],
+   * and so on until the list returns to b.
+   */
+  private final int[] blossomNext;
+
+  /**
+   * The distinct blossom bases marked during the current contraction, in the
+   * range [0, blossomBaseCount).
+   */
+  private final int[] blossomBases;
+
+  /**
+   * The vertices whose {@link #parents}, {@link #bases} or
+   * {@link #blossomNext} entries were changed by the current search, in the
+   * range [0, touchedCount).
+   */
+  private final int[] touched;
+
+  /**
+   * The BFS queue. Every vertex is enqueued at most once per search, so the
+   * queue never needs to wrap around.
+   */
+  private final int[] queue;
+
+  /**
+   * If enqueued[v] == searchId, then vertex v has been added to {@link #queue}
+   * during the current search.
+   */
+  private final int[] enqueued;
+
+  /**
+   * If marks[v] == markId, then vertex v has been marked by the current
+   * ancestor walk or blossom contraction.
+   */
+  private final int[] marks;
+
+  /** The number of valid entries in {@link #blossomBases} */
+  private int blossomBaseCount;
+
+  /** The number of valid entries in {@link #touched} */
+  private int touchedCount;
+
+  /** The index of the next vertex to dequeue from {@link #queue} */
+  private int queueHead;
+
+  /** The index one past the last vertex in {@link #queue} */
+  private int queueTail;
+
+  /** The id of the current augmenting path search */
+  private int searchId;
+
+  /** The id of the current set of marks in {@link #marks} */
+  private int markId;
+
+  /**
+   * Create a blossom matching solver for the given graph, warm-started with
+   * {@link Initialization#KARP_SIPSER}.
    *
    * @param graph
    *   the graph to be solved
    */
   public EdmondsAlgorithm(Graph graph) {
+    this(graph, Initialization.KARP_SIPSER);
+  }
+
+  /**
+   * Create a blossom matching solver for the given graph.
+   *
+   * @param graph
+   *   the graph to be solved
+   * @param initialization
+   *   the heuristic used to build the initial matching
+   */
+  public EdmondsAlgorithm(Graph graph, Initialization initialization) {
     this.graph = graph;
+    this.initialization = initialization;
 
     this.matches = new int[graph.size()];
     this.parents = new int[graph.size()];
     this.bases = new int[graph.size()];
+    this.blossomNext = new int[graph.size()];
+    this.blossomBases = new int[graph.size()];
+    this.touched = new int[graph.size()];
+    this.queue = new int[graph.size()];
+    this.enqueued = new int[graph.size()];
+    this.marks = new int[graph.size()];
+  }
+
+  /**
+   * Invalidates all previous entries in {@link #marks}.
+   */
+  private void clearMarks() {
+    markId++;
+    if (markId == Integer.MAX_VALUE) {
+      // Ids are about to wrap around; stale marks could become valid again
+      Arrays.fill(marks, 0);
+      markId = 1;
+    }
   }
 
   /**
@@ -58,14 +157,14 @@ public class EdmondsAlgorithm {
    *   the second vertex
    */
   private int findLeastCommonAncestor(int vertex1, int vertex2) {
-    Set<Integer> ancestors1 = new LinkedHashSet<>();
+    clearMarks();
 
     // Walk upward from a to find all of a's alternating ancestors
     int a = vertex1;
     while (true) {
-      // Add base of current vertex to ancestors
+      // Mark base of current vertex as an ancestor
       int base1 = bases[a];
-      ancestors1.add(base1);
+      marks[base1] = markId;
 
       // If unmatched, then no more ancestors exist
       int match = matches[base1];
@@ -81,7 +180,7 @@ public class EdmondsAlgorithm {
     int b = vertex2;
     while (true) {
       int base2 = bases[b];
-      if (ancestors1.contains(base2)) {
+      if (marks[base2] == markId) {
         // found a common ancestor
         return base2;
       } else {
@@ -94,7 +193,8 @@ public class EdmondsAlgorithm {
 
   /**
    * Mark all vertices on the path from vertex v to a blossom base as belonging
-   * to the blossom, and fix parent pointers during contraction.
+   * to the blossom in {@link #marks} and {@link #blossomBases}, and fix parent
+   * pointers during contraction.
    *
    * @param vertex
    *   the source vertex
@@ -103,9 +203,7 @@ public class EdmondsAlgorithm {
    * @param parent
    *   the new parent of the vertex
    */
-  private Set<Integer> computeBlossomPath(int vertex, int base, int parent) {
-    Set<Integer> blossomPath = new LinkedHashSet<>();
-
+  private void markBlossomPath(int vertex, int base, int parent) {
     // Walk upward from v until we find the base
     int v = vertex;
     int p = parent;
@@ -113,16 +211,73 @@ public class EdmondsAlgorithm {
       int matchOfV = matches[v];
 
       // Add v's base and its match's base to the blossom
-      blossomPath.add(bases[v]);
-      blossomPath.add(bases[matchOfV]);
+      markBlossomBase(bases[v]);
+      markBlossomBase(bases[matchOfV]);
 
       // Fix parent pointers
       parents[v] = p;
       p = matchOfV;
       v = parents[matchOfV];
     }
+  }
+
+  /**
+   * Records that a blossom base belongs to the blossom currently being
+   * contracted, if it hasn't already been recorded.
+   *
+   * @param base
+   *   the base of a blossom (or a lone vertex) inside the new blossom
+   */
+  private void markBlossomBase(int base) {
+    if (marks[base] != markId) {
+      marks[base] = markId;
+      blossomBases[blossomBaseCount++] = base;
+    }
+  }
+
+  /**
+   * Contract every blossom recorded in {@link #blossomBases} into a single
+   * blossom with a new base. Only the members of those blossoms are visited.
+   *
+   * @param newBase
+   *   the base of the contracted blossom
+   */
+  private void contractBlossom(int newBase) {
+    for (int i = 0; i < blossomBaseCount; i++) {
+      int base = blossomBases[i];
+      if (base == newBase) {
+        // members of newBase's blossom are already correct
+        continue;
+      }
+
+      int member = base;
+      do {
+        bases[member] = newBase;
+        if (enqueued[member] != searchId) {
+          enqueue(member);
+        }
+        member = blossomNext[member];
+      } while (member != base);
+
+      // Splice the two circular lists together
+      int next = blossomNext[base];
+      blossomNext[base] = blossomNext[newBase];
+      blossomNext[newBase] = next;
+    }
+  }
 
-    return blossomPath;
+  /**
+   * Undo all changes made by the previous search to {@link #parents},
+   * {@link #bases} and {@link #blossomNext}.
+   */
+  private void resetTouched() {
+    for (int i = 0; i < touchedCount; i++) {
+      int v = touched[i];
+      parents[v] = -1;
+      bases[v] = v;
+      blossomNext[v] = v;
+    }
+    touchedCount = 0;
   }
 
   /**
@@ -134,23 +289,22 @@ public class EdmondsAlgorithm {
    * @return true if an augmenting path was found
    */
   private boolean findAugmentingPath(int root) {
-    Arrays.fill(parents, -1);
-
     // Initially, each vertex is its own blossom base
-    for (int i = 0; i < graph.size(); i++) {
-      bases[i] = i;
-    }
+    resetTouched();
 
     // Enqueue root
-    Queue<Integer> bfsQueue = new ArrayDeque<>();
-    Set<Integer> enqueued = new LinkedHashSet<>();
-    bfsQueue.add(root);
-    enqueued.add(root);
+    searchId++;
+    queueHead = 0;
+    queueTail = 0;
+    enqueue(root);
+
+    while (queueHead < queueTail) {
+      int vertex = queue[queueHead++];
 
-    while (!bfsQueue.isEmpty()) {
-      int vertex = bfsQueue.poll();
+      int degree = graph.getDegree(vertex);
+      for (int index = 0; index < degree; index++) {
+        int neighbor = graph.getNeighbor(vertex, index);
 
-      for (int neighbor : graph.getAllNeighbors(vertex)) {
         // Ignore self-loops inside a blossom or matched edges
         if (bases[vertex] == bases[neighbor] || matches[vertex] == neighbor) {
           continue;
@@ -161,24 +315,17 @@ public class EdmondsAlgorithm {
 
           int commonAncestor = findLeastCommonAncestor(vertex, neighbor);
 
-          Set<Integer> currentBlossom = new LinkedHashSet<>();
-          currentBlossom.addAll(computeBlossomPath(vertex, commonAncestor, neighbor));
-          currentBlossom.addAll(computeBlossomPath(neighbor, commonAncestor, vertex));
-
-          // Contract the blossom
-          for (int i = 0; i < graph.size(); i++) {
-            if (currentBlossom.contains(bases[i])) {
-              bases[i] = commonAncestor;
-              if (!enqueued.contains(i)) {
-                enqueued.add(i);
-                bfsQueue.add(i);
-              }
-            }
-          }
+          clearMarks();
+          blossomBaseCount = 0;
+          markBlossomPath(vertex, commonAncestor, neighbor);
+          markBlossomPath(neighbor, commonAncestor, vertex);
+
+          contractBlossom(commonAncestor);
         } else if (parents[neighbor] < 0) {
           // Case 2: Extend alternating tree
 
           parents[neighbor] = vertex;
+          touched[touchedCount++] = neighbor;
 
           // Found an augmenting path
           if (matches[neighbor] < 0) {
@@ -188,9 +335,8 @@ public class EdmondsAlgorithm {
 
           // Continue BFS from the matched partner
           int matchedNeighbor = matches[neighbor];
-          if (!enqueued.contains(matchedNeighbor)) {
-            enqueued.add(matchedNeighbor);
-            bfsQueue.add(matchedNeighbor);
+          if (enqueued[matchedNeighbor] != searchId) {
+            enqueue(matchedNeighbor);
           }
         }
       }
@@ -198,6 +344,23 @@ public class EdmondsAlgorithm {
     return false;
   }
 
+  /**
+   * Add a vertex to the end of the BFS queue for the current search.
+   *
+   * @param vertex
+   *   the vertex to enqueue
+   */
+  private void enqueue(int vertex) {
+    enqueued[vertex] = searchId;
+    queue[queueTail++] = vertex;
+
+    // Enqueued vertices with a parent were already touched when the parent was
+    // assigned, so each vertex appears in touched at most once
+    if (parents[vertex] < 0) {
+      touched[touchedCount++] = vertex;
+    }
+  }
+
   /**
    * Flip matching edges along the discovered augmenting path.
    *
@@ -221,14 +384,59 @@ public class EdmondsAlgorithm {
   }
 
   /**
-   * Compute the maximum matching on the input graph.
+   * Compute the maximum matching on the input graph, starting from the
+   * matching produced by this solver's {@link Initialization}.
+   *
+   * @return the edges in the maximum matching
+   */
+  public Matching computeMaximumMatching() {
+    // Initially, all vertices are unmatched
+    Arrays.fill(matches, -1);
+
+    MatchingHeuristics.initialize(graph, matches, initialization);
+
+    return augmentToMaximum();
+  }
+
+  /**
+   * Compute the maximum matching on the input graph, starting from an existing
+   * matching, such as one generated by {@link DaniHayesAlgorithm}. This
+   * solver's {@link Initialization} is ignored.
    *
+   * @param initialMatching
+   *   a valid matching on the input graph
    * @return the edges in the maximum matching
+   * @throws IllegalArgumentException
+   *   if {@code initialMatching} contains an edge that isn't in the graph, or
+   *   isn't a valid matching
    */
-  public Set<Edge> computeMaximumMatching() {
+  public Matching computeMaximumMatching(Set<Edge> initialMatching) {
     // Initially, all vertices are unmatched
     Arrays.fill(matches, -1);
 
+    MatchingHeuristics.seed(graph, matches, initialMatching);
+
+    return augmentToMaximum();
+  }
+
+  /**
+   * Repeatedly augment the current matching until it is maximum.
+   *
+   * @return the edges in the maximum matching
+   */
+  private Matching augmentToMaximum() {
+    // There is at most one search per vertex, so search ids can't overflow
+    Arrays.fill(enqueued, 0);
+    searchId = 0;
+
+    // Initially, each vertex is its own blossom base
+    Arrays.fill(parents, -1);
+    for (int v = 0; v < graph.size(); v++) {
+      bases[v] = v;
+      blossomNext[v] = v;
+    }
+    touchedCount = 0;
+
     // Compute matching by repeatedly augmenting
     for (int v = 0; v < graph.size(); v++) {
       if (matches[v] < 0) {
@@ -236,13 +444,23 @@ public class EdmondsAlgorithm {
       }
     }
 
-    // Build results
-    Set<Edge> matching = new LinkedHashSet<>();
-    for (int v = 0; v < graph.size(); v++) {
-      if (matches[v] >= 0) {
-        matching.add(new Edge(v, matches[v]));
-      }
-    }
-    return matching;
+    return new Matching(matches.clone());
+  }
+
+  /**
+   * Heuristics for building an initial matching before searching for
+   * augmenting paths. Every heuristic still results in a maximum matching;
+   * they only differ in how much work is left for the blossom phase.
+   */
+  public enum Initialization {
+    /** Start from an empty matching */
+    NONE,
+    /** Start from a greedy maximal matching */
+    GREEDY,
+    /**
+     * Start from a maximal matching built with the Karp-Sipser degree-1
+     * reduction, which is usually close to maximum on sparse graphs
+     */
+    KARP_SIPSER;
   }
 }
@@ -0,0 +1,687 @@
+package edu.rit.cs.graph_matching;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a sweep of matching experiments: for every combination of graph size,
+ * degree, mutation count and seed, a graph of the configured family is
+ * generated with {@link GraphGenerator} and every configured algorithm is run
+ * on it. Each run is written as one row of output holding its timing, the size
+ * of the matching found, and the number of graph queries it made as counted by
+ * {@link GraphStatistics}.
+ * <p>
+ * Graphs are generated once and shared by every algorithm run on them. Graphs
+ * are processed in parallel, one per thread, and each graph is discarded as
+ * soon as its runs are finished, so at most one graph per thread is in memory
+ * at any time. Runs on different graphs compete for cores and memory bandwidth,
+ * so use a single thread when precise timings matter.
+ * <p>
+ * Not every generated graph has a perfect matching, so the Dani-Hayes
+ * algorithm is run until it reaches the size of a maximum matching of its
+ * graph. That size is taken from an exact algorithm run earlier on the same
+ * graph, or else computed by {@link EdmondsAlgorithm} outside of the timed
+ * run.
+ * <p>
+ * Every row is flushed as soon as its run finishes. A sweep that was stopped
+ * part way can therefore be resumed from its output file, in which case only
+ * the runs missing from the file are performed.
+ */
+public final class ExperimentRunner {
+  /** The configuration of the sweep */
+  private final Config config;
+
+  /**
+   * Construct a runner for a sweep.
+   *
+   * @param config
+   *   the configuration of the sweep
+   */
+  public ExperimentRunner(Config config) {
+    this.config = config;
+  }
+
+  /**
+   * @return the configuration of the sweep
+   */
+  public Config getConfig() {
+    return config;
+  }
+
+  /**
+   * Run the sweep, writing its results to a file. Without {@code resume}, the
+   * file is replaced. With {@code resume}, runs already in the file are
+   * skipped, and new runs are appended to it; a partially written final line
+   * left by an interrupted sweep is discarded first.
+   *
+   * @param output
+   *   the output file
+   * @param format
+   *   the format of the output file
+   * @param resume
+   *   whether to resume a sweep from an existing output file
+   * @return the number of runs performed
+   * @throws IOException
+   *   if the output file can't be read or written
+   * @throws InterruptedException
+   *   if the calling thread is interrupted while waiting for the runs
+   */
+  public int run(Path output, Format format, boolean resume)
+      throws IOException, InterruptedException {
+    Set<Key> completed = new HashSet<>();
+    if (resume && Files.exists(output)) {
+      truncatePartialLine(output);
+      for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+        Key key = format.parseKey(line);
+        if (key != null) {
+          completed.add(key);
+        }
+      }
+    }
+
+    boolean append = resume && Files.exists(output) && Files.size(output) > 0;
+    try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+      if (!append) {
+        format.writeHeader(out);
+      }
+      return run(out, format, completed);
+    }
+  }
+
+  /**
+   * Run the sweep, writing a row for each run. No header is written.
+   *
+   * @param out
+   *   the destination of the rows
+   * @param format
+   *   the format of the rows
+   * @param completed
+   *   runs to skip, since they were completed previously
+   * @return the number of runs performed
+   * @throws IOException
+   *   if a row can't be written
+   * @throws InterruptedException
+   *   if the calling thread is interrupted while waiting for the runs
+   */
+  public int run(Writer out, Format format, Set<Key> completed)
+      throws IOException, InterruptedException {
+    AtomicInteger runCount = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(config.threads())) {
+      for (int size : config.sizes()) {
+        for (int degree : config.degrees()) {
+          for (int mutations : config.mutations()) {
+            for (long seed : config.seeds()) {
+              List<Key> keys = new ArrayList<>();
+              for (Algorithm algorithm : config.algorithms()) {
+                Key key = new Key(config.family(), size, degree, mutations, seed, algorithm);
+                if (!completed.contains(key)) {
+                  keys.add(key);
+                }
+              }
+              if (!keys.isEmpty()) {
+                futures.add(executor.submit(() -> {
+                  runGraph(keys, out, format, runCount);
+                  return null;
+                }));
+              }
+            }
+          }
+        }
+      }
+
+      Throwable failure = null;
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          } else {
+            failure.addSuppressed(e.getCause());
+          }
+        } catch (InterruptedException e) {
+          // Stop every run; closing the executor waits for them to return
+          executor.shutdownNow();
+          throw e;
+        }
+      }
+
+      if (failure instanceof IOException e) {
+        throw e;
+      } else if (failure instanceof RuntimeException e) {
+        throw e;
+      } else if (failure instanceof Error e) {
+        throw e;
+      }
+    }
+
+    return runCount.get();
+  }
+
+  /**
+   * Generate a single graph and perform every run on it.
+   *
+   * @param keys
+   *   the runs to perform, which all share the same graph
+   * @param out
+   *   the destination of the rows
+   * @param format
+   *   the format of the rows
+   * @param runCount
+   *   the number of runs performed so far
+   * @throws IOException
+   *   if a row can't be written
+   */
+  private void runGraph(List<Key> keys, Writer out, Format format, AtomicInteger runCount)
+      throws IOException {
+    Key first = keys.get(0);
+    long[] seeds = ParallelDaniHayesAlgorithm.deriveSeeds(first.seed(), 2);
+
+    long start = System.nanoTime();
+    Graph graph = generateGraph(first, new Random(seeds[0]));
+    long generateNanos = System.nanoTime() - start;
+
+    // The size of a maximum matching of the graph, or -1 if not yet known
+    int maximumSize = -1;
+    for (Key key : keys) {
+      if (Thread.currentThread()
+                .isInterrupted()) {
+        return;
+      }
+
+      if (key.algorithm() == Algorithm.DANI_HAYES && maximumSize < 0) {
+        maximumSize = new EdmondsAlgorithm(graph).computeMaximumMatching()
+                                                 .size();
+      }
+      Run run = runAlgorithm(key, graph, generateNanos, seeds[1], maximumSize);
+      if (key.algorithm() != Algorithm.DANI_HAYES) {
+        maximumSize = run.matchingSize();
+      }
+      // An interrupted run is incomplete, so it's left for a resumed sweep
+      if (run.termination() == DaniHayesAlgorithm.Termination.INTERRUPTED) {
+        return;
+      }
+
+      String row = format.formatRun(run);
+      synchronized (out) {
+        out.write(row);
+        out.write('\n');
+        out.flush();
+      }
+      runCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Generate the graph of a run, and compress it for faster queries.
+   *
+   * @param key
+   *   the run
+   * @param random
+   *   the random number generator used to mutate the graph
+   * @return the generated graph
+   */
+  private static Graph generateGraph(Key key, Random random) {
+    MutableGraph graph = new ArenaGraphImpl(key.size());
+    switch (key.family()) {
+      case REGULAR -> {
+        GraphGenerator.generateRegularGraph(graph, key.degree());
+        GraphGenerator.mutateRegularGraph(graph, key.mutations(), random);
+      }
+      case BIPARTITE -> {
+        GraphGenerator.generateRegularBipartiteGraph(graph, key.degree());
+        GraphGenerator.mutateBipartiteRegularGraph(graph, key.mutations(), random);
+      }
+    }
+    return graph.freeze();
+  }
+
+  /**
+   * Perform a single run.
+   *
+   * @param key
+   *   the run
+   * @param graph
+   *   the generated graph of the run
+   * @param generateNanos
+   *   the time taken to generate the graph, in nanoseconds
+   * @param seed
+   *   the seed of randomized algorithms
+   * @param maximumSize
+   *   the size of a maximum matching of the graph, which is the target of
+   *   randomized algorithms
+   * @return the result of the run
+   */
+  private Run runAlgorithm(Key key, Graph graph, long generateNanos, long seed,
+                           int maximumSize) {
+    GraphStatistics statistics = new GraphStatistics(graph);
+
+    long start = System.nanoTime();
+    DaniHayesAlgorithm.Termination termination = null;
+    Matching matching = switch (key.algorithm()) {
+      case DANI_HAYES -> {
+        DaniHayesAlgorithm.Budget budget = DaniHayesAlgorithm.Budget.UNLIMITED;
+        if (config.timeLimit() != null) {
+          budget = budget.withTimeLimit(config.timeLimit());
+        }
+        DaniHayesAlgorithm.Result result = new DaniHayesAlgorithm(statistics,
+            new Random(seed)).generateMatching(maximumSize, budget);
+        termination = result.termination();
+        yield result.matching();
+      }
+      case EDMONDS -> new EdmondsAlgorithm(statistics).computeMaximumMatching();
+      case PHASED_EDMONDS -> new PhasedEdmondsAlgorithm(statistics).computeMaximumMatching();
+    };
+    long elapsedNanos = System.nanoTime() - start;
+
+    GraphStatistics.Snapshot queries = statistics.snapshot();
+    return new Run(key, matching.size(), termination, generateNanos, elapsedNanos,
+        queries.degreeChecks(), queries.edgeChecks(), queries.randomNeighbors(),
+        queries.neighbors(), queries.forEachNeighbors(), queries.allNeighbors());
+  }
+
+  /**
+   * Discard everything after the last line break of a file.
+   *
+   * @param path
+   *   the file
+   * @throws IOException
+   *   if the file can't be read or written
+   */
+  private static void truncatePartialLine(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1);
+      long end = channel.size();
+      while (end > 0) {
+        buffer.clear();
+        channel.read(buffer, end - 1);
+        if (buffer.get(0) == '\n') {
+          break;
+        }
+        end--;
+      }
+      channel.truncate(end);
+    }
+  }
+
+  /**
+   * Parse the name of a constant, ignoring case and treating dashes as
+   * underscores.
+   *
+   * @param type
+   *   the enum type
+   * @param name
+   *   the name of the constant
+   * @return the constant
+   * @throws IllegalArgumentException
+   *   if there is no such constant
+   */
+  static <E extends Enum<E>> E parseConstant(Class<E> type, String name) {
+    String normalized = name.trim()
+                            .toUpperCase(Locale.ROOT)
+                            .replace('-', '_');
+    for (E constant : type.getEnumConstants()) {
+      if (constant.name()
+                  .equals(normalized)) {
+        return constant;
+      }
+    }
+    throw new IllegalArgumentException("Unknown " + type.getSimpleName()
+                                                        .toLowerCase(Locale.ROOT) + " '" + name + "'");
+  }
+
+  /**
+   * @param constant
+   *   an enum constant
+   * @return the name of the constant as written in output files
+   */
+  private static String outputName(Enum<?> constant) {
+    return constant.name()
+                   .toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The families of graphs that can be generated.
+   */
+  public enum Family {
+    /**
+     * Regular graphs from {@link GraphGenerator#generateRegularGraph}, mutated
+     * with {@link GraphGenerator#mutateRegularGraph}
+     */
+    REGULAR,
+    /**
+     * Regular bipartite graphs from
+     * {@link GraphGenerator#generateRegularBipartiteGraph}, mutated with
+     * {@link GraphGenerator#mutateBipartiteRegularGraph}
+     */
+    BIPARTITE;
+  }
+
+  /**
+   * The matching algorithms that can be run.
+   */
+  public enum Algorithm {
+    /**
+     * {@link DaniHayesAlgorithm} searching for a perfect or near-perfect
+     * matching, subject to the time limit
+     */
+    DANI_HAYES,
+    /** {@link EdmondsAlgorithm} */
+    EDMONDS,
+    /** {@link PhasedEdmondsAlgorithm} */
+    PHASED_EDMONDS;
+  }
+
+  /**
+   * The formats of output files.
+   */
+  public enum Format {
+    /** Comma-separated values with a header line */
+    CSV {
+      @Override
+      void writeHeader(Writer out) throws IOException {
+        out.write(String.join(",", COLUMNS));
+        out.write('\n');
+      }
+
+      @Override
+      String formatRun(Run run) {
+        StringBuilder row = new StringBuilder();
+        for (Object value : run.values()) {
+          if (!row.isEmpty()) {
+            row.append(',');
+          }
+          row.append(value == null ? "" : value);
+        }
+        return row.toString();
+      }
+
+      @Override
+      Key parseKey(String line) {
+        String[] values = line.split(",", -1);
+        if (values.length != COLUMNS.size() || values[0].equals(COLUMNS.get(0))) {
+          return null;
+        }
+        return Key.parse(values[0], values[1], values[2], values[3], values[4], values[5]);
+      }
+    },
+
+    /** JSON Lines: one JSON object per run, without a header */
+    JSON {
+      /** Matches a single field of an object written by {@link #formatRun} */
+      private static final Pattern FIELD = Pattern.compile("\"(\\w+)\":(?:\"([^\"]*)\"|([^,}]*))");
+
+      @Override
+      void writeHeader(Writer out) {}
+
+      @Override
+      String formatRun(Run run) {
+        StringBuilder row = new StringBuilder("{");
+        List<Object> values = run.values();
+        for (int i = 0; i < values.size(); i++) {
+          Object value = values.get(i);
+          if (i > 0) {
+            row.append(',');
+          }
+          row.append('"')
+             .append(COLUMNS.get(i))
+             .append("\":");
+          if (value instanceof String s) {
+            row.append('"')
+               .append(s)
+               .append('"');
+          } else {
+            row.append(value);
+          }
+        }
+        return row.append('}')
+                  .toString();
+      }
+
+      @Override
+      Key parseKey(String line) {
+        if (!line.startsWith("{") || !line.endsWith("}")) {
+          return null;
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        Matcher matcher = FIELD.matcher(line);
+        while (matcher.find()) {
+          fields.put(matcher.group(1),
+              matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+        }
+        return Key.parse(fields.get(COLUMNS.get(0)), fields.get(COLUMNS.get(1)),
+            fields.get(COLUMNS.get(2)), fields.get(COLUMNS.get(3)), fields.get(COLUMNS.get(4)),
+            fields.get(COLUMNS.get(5)));
+      }
+    };
+
+    /** The name of each output column, in order */
+    static final List<String> COLUMNS = List.of("family", "vertices", "degree", "mutations",
+        "seed", "algorithm", "matching_size", "termination", "generate_nanos", "elapsed_nanos",
+        "degree_queries", "edge_queries", "random_neighbor_queries", "neighbor_queries",
+        "for_each_neighbor_queries", "all_neighbors_queries");
+
+    /**
+     * Write the header of an output file, if this format has one.
+     *
+     * @param out
+     *   the destination of the header
+     * @throws IOException
+     *   if the header can't be written
+     */
+    abstract void writeHeader(Writer out) throws IOException;
+
+    /**
+     * @param run
+     *   the result of a run
+     * @return the run as a single line, without a line break
+     */
+    abstract String formatRun(Run run);
+
+    /**
+     * @param line
+     *   a line of an output file
+     * @return the run the line describes, or null if it is not a valid row
+     */
+    abstract Key parseKey(String line);
+  }
+
+  /**
+   * The configuration of a sweep. Every combination of size, degree, mutation
+   * count and seed produces one graph, and every algorithm is run on each
+   * graph.
+   *
+   * @param family
+   *   the family of graphs to generate
+   * @param sizes
+   *   the numbers of vertices
+   * @param degrees
+   *   the degrees of the generated graphs, before mutation
+   * @param mutations
+   *   the numbers of double-edge swaps applied to each generated graph
+   * @param seeds
+   *   the seeds used to mutate graphs and run randomized algorithms
+   * @param algorithms
+   *   the algorithms to run on each graph
+   * @param timeLimit
+   *   the time limit of each run of {@link DaniHayesAlgorithm}, or null for no
+   *   limit
+   * @param threads
+   *   the number of graphs to process at the same time
+   */
+  public record Config(Family family,
+                       List<Integer> sizes,
+                       List<Integer> degrees,
+                       List<Integer> mutations,
+                       List<Long> seeds,
+                       List<Algorithm> algorithms,
+                       Duration timeLimit,
+                       int threads) {
+    public Config {
+      sizes = List.copyOf(sizes);
+      degrees = List.copyOf(degrees);
+      mutations = List.copyOf(mutations);
+      seeds = List.copyOf(seeds);
+      algorithms = List.copyOf(algorithms);
+
+      if (sizes.isEmpty() || degrees.isEmpty() || mutations.isEmpty() || seeds.isEmpty()
+          || algorithms.isEmpty()) {
+        throw new IllegalArgumentException("Every sweep dimension needs at least one value");
+      }
+      if (threads <= 0) {
+        throw new IllegalArgumentException("Thread count must be positive");
+      }
+      if (timeLimit != null && timeLimit.isNegative()) {
+        throw new IllegalArgumentException("Time limit must be non-negative");
+      }
+      for (int mutationCount : mutations) {
+        if (mutationCount < 0) {
+          throw new IllegalArgumentException("Mutation counts must be non-negative");
+        }
+      }
+      for (int size : sizes) {
+        for (int degree : degrees) {
+          checkGraph(family, size, degree);
+        }
+      }
+    }
+
+    /**
+     * Check that a graph of the given family can be generated, so that invalid
+     * sweeps fail before any work is done.
+     */
+    private static void checkGraph(Family family, int size, int degree) {
+      if (size <= 0 || degree <= 0) {
+        throw new IllegalArgumentException("Sizes and degrees must be positive");
+      }
+      switch (family) {
+        case REGULAR -> {
+          if (degree >= size || (degree % 2 != 0 && size % 2 != 0)) {
+            throw new IllegalArgumentException(
+                "Cannot generate a " + degree + "-regular graph with " + size + " vertices");
+          }
+        }
+        case BIPARTITE -> {
+          if (size % 2 != 0 || degree > size / 2) {
+            throw new IllegalArgumentException("Cannot generate a " + degree
+                + "-regular bipartite graph with " + size + " vertices");
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Identifies a single run of a sweep.
+   *
+   * @param family
+   *   the family of the graph
+   * @param size
+   *   the number of vertices
+   * @param degree
+   *   the degree of the graph, before mutation
+   * @param mutations
+   *   the number of double-edge swaps applied to the graph
+   * @param seed
+   *   the seed of the run
+   * @param algorithm
+   *   the algorithm run
+   */
+  public record Key(Family family, int size, int degree, int mutations, long seed,
+                    Algorithm algorithm) {
+    /**
+     * @return the key as read from an output file, or null if it's malformed
+     */
+    private static Key parse(String family, String size, String degree, String mutations,
+                             String seed, String algorithm) {
+      try {
+        return new Key(parseConstant(Family.class, family), Integer.parseInt(size),
+            Integer.parseInt(degree), Integer.parseInt(mutations), Long.parseLong(seed),
+            parseConstant(Algorithm.class, algorithm));
+      } catch (IllegalArgumentException | NullPointerException e) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * The result of a single run. Query counts include every call the algorithm
+   * made to the graph, from construction until it returned.
+   *
+   * @param key
+   *   the run
+   * @param matchingSize
+   *   the number of edges in the matching found
+   * @param termination
+   *   why {@link DaniHayesAlgorithm} stopped, or null for other algorithms
+   * @param generateNanos
+   *   the time taken to generate the graph, in nanoseconds
+   * @param elapsedNanos
+   *   the time taken by the algorithm, in nanoseconds
+   * @param degreeQueries
+   *   the number of calls to {@link Graph#getDegree(int)}
+   * @param edgeQueries
+   *   the number of calls to {@link Graph#hasEdge(int, int)}
+   * @param randomNeighborQueries
+   *   the number of calls to
+   *   {@link Graph#getRandomNeighbor(int, java.util.random.RandomGenerator)}
+   * @param neighborQueries
+   *   the number of calls to {@link Graph#getNeighbor(int, int)}
+   * @param forEachNeighborQueries
+   *   the number of calls to
+   *   {@link Graph#forEachNeighbor(int, java.util.function.IntConsumer)}
+   * @param allNeighborsQueries
+   *   the number of calls to {@link Graph#getAllNeighbors(int)}
+   */
+  public record Run(Key key,
+                    int matchingSize,
+                    DaniHayesAlgorithm.Termination termination,
+                    long generateNanos,
+                    long elapsedNanos,
+                    long degreeQueries,
+                    long edgeQueries,
+                    long randomNeighborQueries,
+                    long neighborQueries,
+                    long forEachNeighborQueries,
+                    long allNeighborsQueries) {
+    /**
+     * @return the value of each output column, in order; strings are quoted in
+     *   JSON, and null is an empty CSV value
+     */
+    private List<Object> values() {
+      return Arrays.asList(outputName(key.family()), key.size(), key.degree(),
+          key.mutations(), key.seed(), outputName(key.algorithm()), matchingSize,
+          termination == null ? null : outputName(termination), generateNanos, elapsedNanos,
+          degreeQueries, edgeQueries, randomNeighborQueries, neighborQueries,
+          forEachNeighborQueries, allNeighborsQueries);
+    }
+  }
+}
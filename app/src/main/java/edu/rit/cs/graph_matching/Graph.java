@@ -1,6 +1,7 @@
 package edu.rit.cs.graph_matching;
 
 import java.util.Set;
+import java.util.function.IntConsumer;
 import java.util.random.RandomGenerator;
 
 /**
@@ -11,10 +12,12 @@ import java.util.random.RandomGenerator;
  * <li>Getting a random neighbor of an edge:
  * {@link #getRandomNeighbor(int)}</li>
  * </ol>
- * Additionally, this interface provides one additional method that Dani-Hayes
- * does not use, which is enumerating all neighbors of a vertex. This is for
- * computing maximum matchings via Edmonds's "Blossom" algorithm, for comparison
- * purposes.
+ * Additionally, this interface provides methods that Dani-Hayes does not use,
+ * which enumerate all neighbors of a vertex. These are for computing maximum
+ * matchings via Edmonds's "Blossom" algorithm, for comparison purposes. Prefer
+ * {@link #getNeighbor(int, int)} or {@link #forEachNeighbor(int, IntConsumer)}
+ * over {@link #getAllNeighbors(int)} in performance-sensitive code, since they
+ * don't box each neighbor.
  * <p>
  * Vertices are numbered in the range [0, n).
  */
@@ -68,4 +71,36 @@ public interface Graph {
    * @return all neighbors of the vertex
    */
   Set<Integer> getAllNeighbors(int vertex);
+
+  /**
+   * Gets a specific neighbor of a vertex. Neighbors are indexed in the range
+   * [0, d), where d is the degree of the vertex, in no particular order. The
+   * indexing remains stable as long as the graph is not modified. This method
+   * must run in O(1) time.
+   *
+   * @param vertex
+   *   the vertex
+   * @param index
+   *   the index of the neighbor, in the range [0, {@link #getDegree(int)})
+   * @return the neighbor at that index
+   * @throws IndexOutOfBoundsException
+   *   if {@code index} is out of range
+   */
+  int getNeighbor(int vertex, int index);
+
+  /**
+   * Performs an action for every vertex that shares an edge with a vertex.
+   * Neighbors are visited in the same order as {@link #getNeighbor(int, int)}.
+   *
+   * @param vertex
+   *   the vertex
+   * @param action
+   *   the action to perform on each neighbor
+   */
+  default void forEachNeighbor(int vertex, IntConsumer action) {
+    int degree = getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      action.accept(getNeighbor(vertex, i));
+    }
+  }
 }
@@ -103,6 +103,8 @@ public final class GraphGenerator {
         }
 
         graph.clear();
+        // Every vertex ends up with exactly this degree, so size them up front
+        graph.ensureDegreeCapacity(degree);
         for (int i = 0; i < n; i++) {
             for (int offset = 1; offset <= degree / 2; offset++) {
                 int j = (i + offset) % n;
@@ -190,6 +192,7 @@ public final class GraphGenerator {
         }
 
         graph.clear();
+        graph.ensureDegreeCapacity(degree);
         for (int i = 0; i < verticesPerSide; i++) {
             for (int w = 0; w < degree; w++) {
                 int j = (i + w) % verticesPerSide;
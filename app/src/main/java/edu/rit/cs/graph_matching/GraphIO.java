@@ -0,0 +1,633 @@
+package edu.rit.cs.graph_matching;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads and writes graphs as files, in one of two formats:
+ * <ul>
+ * <li>A plain text edge list, as distributed by e.g. SNAP. Each line holds
+ * two vertex ids separated by whitespace or a comma; any further values on a
+ * line (such as weights) are ignored. Lines starting with '#' or '%' are
+ * comments. Vertex ids are zero-based, and the number of vertices is one more
+ * than the largest id, or the n of a {@code # vertices: n} comment if that is
+ * larger, so isolated vertices at the end survive a round trip. Duplicate
+ * edges, edges listed in both directions, and self-loops are all
+ * dropped.</li>
+ * <li>A compact little-endian binary format holding the graph in compressed
+ * sparse row form, which can be loaded with a few bulk reads. The layout is a
+ * 24-byte header (the magic number {@code "GMCS"}, a format version, the
+ * number of vertices n, 4 bytes of padding, and the total number of neighbor
+ * entries as a long), followed by n + 1 long offsets, followed by the neighbor
+ * entries as ints. The neighbors of vertex v are entries
+ * [offsets[v], offsets[v + 1]), sorted in ascending order.</li>
+ * </ul>
+ * Files are read through a {@link FileChannel} into a reusable buffer and
+ * parsed byte by byte, without creating a String per line.
+ */
+public final class GraphIO {
+  /** The magic number at the start of a binary graph file, "GMCS" */
+  static final int BINARY_MAGIC = 'G' | 'M' << 8 | 'C' << 16 | 'S' << 24;
+
+  /** The current version of the binary format */
+  static final int BINARY_VERSION = 1;
+
+  /** The size of the binary header, in bytes */
+  static final int BINARY_HEADER_BYTES = 24;
+
+  /** The size of the buffer used to read and write files, in bytes */
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  /** The largest vertex id that can be read */
+  private static final int MAX_VERTEX = Integer.MAX_VALUE - 1;
+
+  /** The comment written at the start of an edge list, giving the number of vertices */
+  private static final String VERTICES_HEADER = "# vertices: ";
+
+  private GraphIO() {}
+
+  // --- Edge lists ---
+
+  /**
+   * Read a text edge list into a compressed graph. The file is read twice:
+   * once to count degrees, and once to fill in the adjacency arrays, so no
+   * intermediate list of edges is needed.
+   *
+   * @param path
+   *   the edge list file
+   * @return the graph
+   * @throws IOException
+   *   if the file can't be read or is malformed
+   * @throws IllegalArgumentException
+   *   if the graph has too many edges for {@link CompressedGraphImpl}
+   */
+  public static CompressedGraphImpl readEdgeList(Path path) throws IOException {
+    // Pass 1: count the degree of each vertex
+    DegreeCounter counter = new DegreeCounter();
+    parseEdgeList(path, counter);
+
+    int n = counter.vertexCount;
+    int[] degrees = counter.degrees;
+    int[] offsets = new int[n + 1];
+    long total = 0;
+    for (int v = 0; v < n; v++) {
+      offsets[v] = (int) total;
+      total += degrees[v];
+      if (total > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Graph has too many edges for CompressedGraphImpl");
+      }
+    }
+    offsets[n] = (int) total;
+
+    // Pass 2: fill each vertex's slice, reusing the degree counts as cursors
+    int[] neighbors = new int[(int) total];
+    System.arraycopy(offsets, 0, degrees, 0, n);
+    int[] cursors = degrees;
+    parseEdgeList(path, (u, v) -> {
+      if (u != v) {
+        neighbors[cursors[u]++] = v;
+        neighbors[cursors[v]++] = u;
+      }
+    });
+
+    // Sort each slice and drop duplicates, compacting the arrays in place
+    int write = 0;
+    for (int v = 0; v < n; v++) {
+      int start = offsets[v];
+      int end = offsets[v + 1];
+      Arrays.sort(neighbors, start, end);
+
+      offsets[v] = write;
+      for (int i = start; i < end; i++) {
+        if (i == start || neighbors[i] != neighbors[i - 1]) {
+          neighbors[write++] = neighbors[i];
+        }
+      }
+    }
+    offsets[n] = write;
+
+    return new CompressedGraphImpl(offsets,
+        write == neighbors.length ? neighbors : Arrays.copyOf(neighbors, write));
+  }
+
+  /**
+   * Read a text edge list into an existing mutable graph, replacing its edges.
+   *
+   * @param path
+   *   the edge list file
+   * @param graph
+   *   the graph, which must have more vertices than the largest id in the file
+   * @return the same graph
+   * @throws IOException
+   *   if the file can't be read or is malformed
+   * @throws IndexOutOfBoundsException
+   *   if a vertex id is outside of the graph
+   */
+  public static MutableGraph readEdgeList(Path path, MutableGraph graph) throws IOException {
+    graph.clear();
+    parseEdgeList(path, (u, v) -> {
+      if (u != v) {
+        graph.addEdge(u, v);
+      }
+    });
+    return graph;
+  }
+
+  /**
+   * Write a graph as a text edge list, listing each edge once with its smaller
+   * vertex first.
+   *
+   * @param graph
+   *   the graph
+   * @param path
+   *   the file to write
+   * @throws IOException
+   *   if the file can't be written
+   */
+  public static void writeEdgeList(Graph graph, Path path) throws IOException {
+    try (AsciiWriter writer = new AsciiWriter(Files.newOutputStream(path), BUFFER_SIZE)) {
+      writer.write(VERTICES_HEADER)
+            .write(graph.size())
+            .write('\n');
+      for (int v = 0; v < graph.size(); v++) {
+        int degree = graph.getDegree(v);
+        for (int i = 0; i < degree; i++) {
+          int u = graph.getNeighbor(v, i);
+          if (v < u) {
+            writer.write(v)
+                  .write(' ')
+                  .write(u)
+                  .write('\n');
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Parse a text edge list, passing every edge to a consumer in file order.
+   *
+   * @param path
+   *   the edge list file
+   * @param sink
+   *   the consumer of each edge
+   * @throws IOException
+   *   if the file can't be read or is malformed
+   */
+  private static void parseEdgeList(Path path, EdgeSink sink) throws IOException {
+    EdgeListParser parser = new EdgeListParser(sink);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      byte[] bytes = buffer.array();
+      while (true) {
+        buffer.clear();
+        int read = channel.read(buffer);
+        if (read < 0) {
+          break;
+        }
+        parser.parse(bytes, read);
+      }
+    }
+    parser.endLine();
+  }
+
+  /**
+   * A consumer of the edges in an edge list.
+   */
+  @FunctionalInterface
+  private interface EdgeSink {
+    /**
+     * @param vertex1
+     *   the first vertex of the edge
+     * @param vertex2
+     *   the second vertex of the edge
+     */
+    void accept(int vertex1, int vertex2) throws IOException;
+
+    /**
+     * Called for each {@code # vertices: n} comment in the edge list.
+     *
+     * @param count
+     *   the number of vertices given by the comment
+     */
+    default void vertices(int count) {}
+  }
+
+  /**
+   * Counts the degree of each vertex in an edge list, ignoring self-loops, and
+   * tracks the number of vertices.
+   */
+  private static final class DegreeCounter implements EdgeSink {
+    int[] degrees = new int[1024];
+    int   vertexCount;
+
+    @Override
+    public void accept(int vertex1, int vertex2) {
+      int max = Math.max(vertex1, vertex2);
+      if (max >= vertexCount) {
+        grow(max + 1);
+      }
+      if (vertex1 != vertex2) {
+        degrees[vertex1]++;
+        degrees[vertex2]++;
+      }
+    }
+
+    @Override
+    public void vertices(int count) {
+      if (count > vertexCount) {
+        grow(count);
+      }
+    }
+
+    /**
+     * Raise the number of vertices, growing the degree array if needed.
+     *
+     * @param count
+     *   the new number of vertices
+     */
+    private void grow(int count) {
+      vertexCount = count;
+      if (vertexCount > degrees.length) {
+        long capacity = Math.max(vertexCount, (long) degrees.length * 2);
+        degrees = Arrays.copyOf(degrees, (int) Math.min(capacity, MAX_VERTEX + 1));
+      }
+    }
+  }
+
+  /**
+   * A streaming parser for text edge lists. Bytes may be fed in chunks of any
+   * size; a line may span several chunks.
+   */
+  private static final class EdgeListParser {
+    /** The consumer of each parsed edge */
+    private final EdgeSink sink;
+
+    /** The current line number, for error messages */
+    private long line = 1;
+
+    /** The number of complete values parsed on the current line */
+    private int values;
+
+    /** Whether a value is currently being parsed */
+    private boolean inValue;
+
+    /** Whether the rest of the current line is ignored */
+    private boolean skipping;
+
+    /**
+     * The start of the current comment line, kept to recognize a vertex count
+     * header. Only meaningful while {@link #commentLength} is not -1.
+     */
+    private final byte[] comment = new byte[VERTICES_HEADER.length() + 12];
+
+    /**
+     * The number of bytes of the current comment held in {@link #comment}, or
+     * -1 if the current line is not a comment
+     */
+    private int commentLength = -1;
+
+    /** The value currently being parsed */
+    private long value;
+
+    /** The first value on the current line */
+    private int first;
+
+    EdgeListParser(EdgeSink sink) {
+      this.sink = sink;
+    }
+
+    /**
+     * Parse the next chunk of bytes.
+     *
+     * @param bytes
+     *   the chunk
+     * @param length
+     *   the number of bytes in the chunk
+     * @throws IOException
+     *   if the edge list is malformed
+     */
+    void parse(byte[] bytes, int length) throws IOException {
+      for (int i = 0; i < length; i++) {
+        byte b = bytes[i];
+        if (b == '\n') {
+          endLine();
+        } else if (skipping) {
+          // ignore the rest of the line, but keep the start of a comment
+          if (commentLength >= 0 && commentLength < comment.length) {
+            comment[commentLength++] = b;
+          }
+        } else if (b >= '0' && b <= '9') {
+          value = value * 10 + (b - '0');
+          inValue = true;
+          if (value > MAX_VERTEX) {
+            throw malformed("vertex id is too large");
+          }
+        } else if (b == ' ' || b == '\t' || b == '\r' || b == ',') {
+          endValue();
+        } else if ((b == '#' || b == '%') && values == 0 && !inValue) {
+          skipping = true;
+          comment[0] = b;
+          commentLength = 1;
+        } else {
+          throw malformed("unexpected character '" + (char) b + "'");
+        }
+      }
+    }
+
+    /**
+     * Finish the value currently being parsed, if any.
+     *
+     * @throws IOException
+     *   if the edge consumer fails
+     */
+    private void endValue() throws IOException {
+      if (!inValue) {
+        return;
+      }
+
+      if (values == 0) {
+        first = (int) value;
+      } else {
+        sink.accept(first, (int) value);
+        // Any further values on this line are ignored
+        skipping = true;
+      }
+      values++;
+      value = 0;
+      inValue = false;
+    }
+
+    /**
+     * Finish the current line.
+     *
+     * @throws IOException
+     *   if the line holds a single vertex id
+     */
+    void endLine() throws IOException {
+      endValue();
+      if (values == 1) {
+        throw malformed("expected two vertex ids");
+      }
+      if (commentLength >= 0) {
+        parseVertexCount();
+      }
+      values = 0;
+      skipping = false;
+      commentLength = -1;
+      line++;
+    }
+
+    /**
+     * Pass the vertex count to the consumer if the current comment is a
+     * {@code # vertices: n} header. Any other comment is ignored.
+     */
+    private void parseVertexCount() {
+      int length = VERTICES_HEADER.length();
+      if (commentLength <= length) {
+        return;
+      }
+      for (int i = 0; i < length; i++) {
+        if (comment[i] != VERTICES_HEADER.charAt(i)) {
+          return;
+        }
+      }
+
+      long count = 0;
+      int i = length;
+      while (i < commentLength && comment[i] >= '0' && comment[i] <= '9') {
+        count = count * 10 + (comment[i++] - '0');
+        if (count > MAX_VERTEX + 1L) {
+          return;
+        }
+      }
+      while (i < commentLength && (comment[i] == ' ' || comment[i] == '\t' || comment[i] == '\r')) {
+        i++;
+      }
+      if (i > length && i == commentLength && commentLength < comment.length) {
+        sink.vertices((int) count);
+      }
+    }
+
+    /**
+     * @param reason
+     *   why the edge list is malformed
+     * @return an exception describing the problem
+     */
+    private IOException malformed(String reason) {
+      return new IOException("Malformed edge list at line " + line + ": " + reason);
+    }
+  }
+
+  // --- Binary files ---
+
+  /**
+   * Read a binary graph file into memory.
+   *
+   * @param path
+   *   the binary graph file
+   * @return the graph
+   * @throws IOException
+   *   if the file can't be read or is not a valid binary graph file
+   * @throws IllegalArgumentException
+   *   if the graph has too many edges for {@link CompressedGraphImpl}
+   */
+  public static CompressedGraphImpl readBinary(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE)
+                                    .order(ByteOrder.LITTLE_ENDIAN);
+
+      buffer.limit(BINARY_HEADER_BYTES);
+      readFully(channel, buffer);
+      buffer.flip();
+      int n = checkHeader(buffer, channel.size());
+      long total = buffer.getLong(16);
+      if (total > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Graph has too many edges for CompressedGraphImpl");
+      }
+
+      int[] offsets = new int[n + 1];
+      int index = 0;
+      while (index <= n) {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), (n + 1L - index) * Long.BYTES));
+        readFully(channel, buffer);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          long offset = buffer.getLong();
+          long previous = index == 0 ? 0 : offsets[index - 1];
+          if (offset < previous || offset > total || (index == 0 && offset != 0)
+              || (index == n && offset != total)) {
+            throw new IOException("Corrupt binary graph file: invalid offset " + offset);
+          }
+          offsets[index++] = (int) offset;
+        }
+      }
+
+      int[] neighbors = new int[(int) total];
+      index = 0;
+      while (index < total) {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), (total - index) * Integer.BYTES));
+        readFully(channel, buffer);
+        buffer.flip();
+        int count = buffer.remaining() / Integer.BYTES;
+        buffer.asIntBuffer()
+              .get(neighbors, index, count);
+        index += count;
+      }
+
+      for (int v = 0; v < n; v++) {
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+          int u = neighbors[i];
+          if (u < 0 || u >= n || u == v || (i > offsets[v] && u <= neighbors[i - 1])) {
+            throw new IOException("Corrupt binary graph file: invalid neighbor of vertex " + v);
+          }
+        }
+      }
+
+      return new CompressedGraphImpl(offsets, neighbors);
+    }
+  }
+
+  /**
+   * Write a graph as a binary graph file.
+   *
+   * @param graph
+   *   the graph
+   * @param path
+   *   the file to write
+   * @throws IOException
+   *   if the file can't be written
+   */
+  public static void writeBinary(Graph graph, Path path) throws IOException {
+    int n = graph.size();
+    long total = 0;
+    for (int v = 0; v < n; v++) {
+      total += graph.getDegree(v);
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE)
+                                    .order(ByteOrder.LITTLE_ENDIAN);
+
+      buffer.putInt(BINARY_MAGIC)
+            .putInt(BINARY_VERSION)
+            .putInt(n)
+            .putInt(0)
+            .putLong(total);
+
+      long offset = 0;
+      for (int v = 0; v <= n; v++) {
+        if (buffer.remaining() < Long.BYTES) {
+          writeFully(channel, buffer);
+        }
+        buffer.putLong(offset);
+        if (v < n) {
+          offset += graph.getDegree(v);
+        }
+      }
+
+      int[] scratch = new int[16];
+      for (int v = 0; v < n; v++) {
+        int degree = graph.getDegree(v);
+        if (degree > scratch.length) {
+          scratch = new int[Math.max(degree, scratch.length * 2)];
+        }
+        for (int i = 0; i < degree; i++) {
+          scratch[i] = graph.getNeighbor(v, i);
+        }
+        Arrays.sort(scratch, 0, degree);
+
+        for (int i = 0; i < degree; i++) {
+          if (buffer.remaining() < Integer.BYTES) {
+            writeFully(channel, buffer);
+          }
+          buffer.putInt(scratch[i]);
+        }
+      }
+      writeFully(channel, buffer);
+    }
+  }
+
+  /**
+   * Validate the header of a binary graph file.
+   *
+   * @param header
+   *   a buffer holding the header
+   * @param fileSize
+   *   the size of the file, in bytes
+   * @return the number of vertices
+   * @throws IOException
+   *   if the header is invalid or inconsistent with the file size
+   */
+  static int checkHeader(ByteBuffer header, long fileSize) throws IOException {
+    if (header.getInt(0) != BINARY_MAGIC) {
+      throw new IOException("Not a binary graph file");
+    }
+    if (header.getInt(4) != BINARY_VERSION) {
+      throw new IOException("Unsupported binary graph file version " + header.getInt(4));
+    }
+
+    int n = header.getInt(8);
+    long total = header.getLong(16);
+    if (n < 0 || total < 0 || fileSize != binaryFileSize(n, total)) {
+      throw new IOException("Corrupt binary graph file: inconsistent size");
+    }
+    return n;
+  }
+
+  /**
+   * @param vertexCount
+   *   the number of vertices
+   * @param neighborCount
+   *   the total number of neighbor entries
+   * @return the size of a binary graph file with these dimensions, in bytes
+   */
+  static long binaryFileSize(int vertexCount, long neighborCount) {
+    return BINARY_HEADER_BYTES + (vertexCount + 1L) * Long.BYTES + neighborCount * Integer.BYTES;
+  }
+
+  /**
+   * Fill a buffer from a channel.
+   *
+   * @param channel
+   *   the channel
+   * @param buffer
+   *   the buffer, which is filled up to its limit
+   * @throws IOException
+   *   if the channel ends first
+   */
+  private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Corrupt binary graph file: unexpected end of file");
+      }
+    }
+  }
+
+  /**
+   * Write all of a buffer's contents to a channel, then clear the buffer.
+   *
+   * @param channel
+   *   the channel
+   * @param buffer
+   *   the buffer
+   * @throws IOException
+   *   if the channel can't be written
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
@@ -1,45 +1,136 @@
 package edu.rit.cs.graph_matching;
 
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
 import java.util.random.RandomGenerator;
 
 /**
  * A wrapper that tracks how many times graph methods are called.
+ * <p>
+ * By default, the counters are plain fields, which is as cheap as possible but
+ * only correct when the wrapper is used by a single thread at a time. Use
+ * {@link #concurrent(Graph)} to share one wrapper between several threads, for
+ * example with {@link ParallelDaniHayesAlgorithm}; its counters are
+ * {@link LongAdder}s, which spread contended updates over several cells instead
+ * of making every thread fight over the same cache line.
  */
 public class GraphStatistics implements Graph {
+  /** Index of the counter for {@link #size()} */
+  private static final int SIZE = 0;
+  /** Index of the counter for {@link #getDegree(int)} */
+  private static final int DEGREE = 1;
+  /** Index of the counter for {@link #hasEdge(int, int)} */
+  private static final int HAS_EDGE = 2;
+  /** Index of the counter for {@link #getRandomNeighbor(int, RandomGenerator)} */
+  private static final int RANDOM_NEIGHBOR = 3;
+  /** Index of the counter for {@link #getAllNeighbors(int)} */
+  private static final int ALL_NEIGHBORS = 4;
+  /** Index of the counter for {@link #getNeighbor(int, int)} */
+  private static final int NEIGHBOR = 5;
+  /** Index of the counter for {@link #forEachNeighbor(int, IntConsumer)} */
+  private static final int FOR_EACH_NEIGHBOR = 6;
+  /** The number of counters */
+  private static final int COUNTER_COUNT = 7;
+
   /** The backing graph */
   private final Graph source;
 
-  /** The number of times {@link #size()} has been called */
-  private int sizeCheckCount;
-  /** The number of times {@link #hasEdge(int, int)} has been called */
-  private int edgeCheckCount;
-  /** The number of times {@link #getDegree(int)} has been called */
-  private int degreeCheckCount;
-  /** The number of times {@link #getRandomNeighbor(int)} has been called */
-  private int randomNeighborCount;
-  /** The number of times {@link #getAllNeighbors(int)} has been called */
-  private int allNeighborsCount;
+  /** The number of times each method has been called, in single-threaded mode */
+  private final long[] counts;
 
   /**
-   * Construct a graph statistics wrapper.
+   * The number of times each method has been called, in concurrent mode, or
+   * null in single-threaded mode
+   */
+  private final LongAdder[] adders;
+
+  /**
+   * Construct a graph statistics wrapper for use by a single thread at a time.
    *
    * @param source
    *   the backing graph
    */
   public GraphStatistics(Graph source) {
+    this(source, false);
+  }
+
+  /**
+   * Construct a graph statistics wrapper.
+   *
+   * @param source
+   *   the backing graph
+   * @param concurrent
+   *   whether the wrapper may be used by several threads at the same time
+   */
+  private GraphStatistics(Graph source, boolean concurrent) {
     this.source = source;
+    if (concurrent) {
+      this.counts = null;
+      this.adders = new LongAdder[COUNTER_COUNT];
+      for (int i = 0; i < COUNTER_COUNT; i++) {
+        adders[i] = new LongAdder();
+      }
+    } else {
+      this.counts = new long[COUNTER_COUNT];
+      this.adders = null;
+    }
+  }
+
+  /**
+   * Construct a graph statistics wrapper that may be used by several threads
+   * at the same time. Counts are exact once every thread is done with the
+   * wrapper; while threads are still using it, a snapshot may miss calls that
+   * happen while it's taken.
+   *
+   * @param source
+   *   the backing graph
+   * @return the wrapper
+   */
+  public static GraphStatistics concurrent(Graph source) {
+    return new GraphStatistics(source, true);
+  }
+
+  /**
+   * @return true iff this wrapper may be used by several threads at the same
+   *   time
+   */
+  public boolean isConcurrent() {
+    return adders != null;
+  }
+
+  /**
+   * Count a call to a method.
+   *
+   * @param counter
+   *   the index of the method's counter
+   */
+  private void count(int counter) {
+    if (adders == null) {
+      counts[counter]++;
+    } else {
+      adders[counter].increment();
+    }
+  }
+
+  /**
+   * @param counter
+   *   the index of a method's counter
+   * @return the number of times the method has been called
+   */
+  private long get(int counter) {
+    return adders == null ? counts[counter] : adders[counter].sum();
   }
 
   @Override
   public int size() {
-    sizeCheckCount++;
+    count(SIZE);
     return source.size();
   }
 
   @Override
   public int getDegree(int vertex) {
-    degreeCheckCount++;
+    count(DEGREE);
     return source.getDegree(vertex);
   }
 
@@ -49,7 +140,7 @@ public class GraphStatistics implements Graph {
    */
   @Override
   public boolean hasEdge(int vertex1, int vertex2) {
-    edgeCheckCount++;
+    count(HAS_EDGE);
     return source.hasEdge(vertex1, vertex2);
   }
 
@@ -59,7 +150,7 @@ public class GraphStatistics implements Graph {
    */
   @Override
   public int getRandomNeighbor(int vertex, RandomGenerator random) {
-    randomNeighborCount++;
+    count(RANDOM_NEIGHBOR);
     return source.getRandomNeighbor(vertex, random);
   }
 
@@ -69,10 +160,31 @@ public class GraphStatistics implements Graph {
    */
   @Override
   public Set<Integer> getAllNeighbors(int vertex) {
-    allNeighborsCount++;
+    count(ALL_NEIGHBORS);
     return source.getAllNeighbors(vertex);
   }
 
+  /**
+   * @inheritdoc Track the number of times this method was called using
+   *   {@link #getNeighborCount()}.
+   */
+  @Override
+  public int getNeighbor(int vertex, int index) {
+    count(NEIGHBOR);
+    return source.getNeighbor(vertex, index);
+  }
+
+  /**
+   * @inheritdoc Track the number of times this method was called using
+   *   {@link #getForEachNeighborCount()}. Each call is counted once,
+   *   regardless of the number of neighbors visited.
+   */
+  @Override
+  public void forEachNeighbor(int vertex, IntConsumer action) {
+    count(FOR_EACH_NEIGHBOR);
+    source.forEachNeighbor(vertex, action);
+  }
+
   /**
    * @return the graph backing this statistics wrapper
    */
@@ -83,35 +195,143 @@ public class GraphStatistics implements Graph {
   /**
    * @return the number of times {@link #getDegree(int)} has been called
    */
-  public int getDegreeCheckCount() {
-    return degreeCheckCount;
+  public long getDegreeCheckCount() {
+    return get(DEGREE);
   }
 
   /**
    * @return the number of times {@link #size()} has been called
    */
-  public int getSizeCheckCount() {
-    return sizeCheckCount;
+  public long getSizeCheckCount() {
+    return get(SIZE);
   }
 
   /**
    * @return the number of times {@link #hasEdge(int, int)} has been called
    */
-  public int getEdgeCheckCount() {
-    return edgeCheckCount;
+  public long getEdgeCheckCount() {
+    return get(HAS_EDGE);
   }
 
   /**
    * @return the number of times {@link #getRandomNeighbor(int)} has been called
    */
-  public int getRandomNeighborCount() {
-    return randomNeighborCount;
+  public long getRandomNeighborCount() {
+    return get(RANDOM_NEIGHBOR);
   }
 
   /**
    * @return the number of times {@link #getAllNeighbors(int)} has been called
    */
-  public int getAllNeighborsCount() {
-    return allNeighborsCount;
+  public long getAllNeighborsCount() {
+    return get(ALL_NEIGHBORS);
+  }
+
+  /**
+   * @return the number of times {@link #getNeighbor(int, int)} has been called
+   */
+  public long getNeighborCount() {
+    return get(NEIGHBOR);
+  }
+
+  /**
+   * @return the number of times {@link #forEachNeighbor(int, IntConsumer)} has
+   *   been called
+   */
+  public long getForEachNeighborCount() {
+    return get(FOR_EACH_NEIGHBOR);
+  }
+
+  /**
+   * Take a snapshot of every counter.
+   *
+   * @return the current counts
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(get(SIZE), get(DEGREE), get(HAS_EDGE), get(RANDOM_NEIGHBOR),
+        get(ALL_NEIGHBORS), get(NEIGHBOR), get(FOR_EACH_NEIGHBOR));
+  }
+
+  /**
+   * Reset every counter to zero. In concurrent mode, calls made while the
+   * counters are being reset may or may not be counted afterwards; use
+   * {@link #snapshotAndReset()} to avoid losing them.
+   */
+  public void reset() {
+    for (int i = 0; i < COUNTER_COUNT; i++) {
+      if (adders == null) {
+        counts[i] = 0;
+      } else {
+        adders[i].reset();
+      }
+    }
+  }
+
+  /**
+   * Take a snapshot of every counter and reset them to zero. In concurrent
+   * mode, every call is counted in either this snapshot or a later one.
+   *
+   * @return the counts before the reset
+   */
+  public Snapshot snapshotAndReset() {
+    long[] values = new long[COUNTER_COUNT];
+    for (int i = 0; i < COUNTER_COUNT; i++) {
+      if (adders == null) {
+        values[i] = counts[i];
+        counts[i] = 0;
+      } else {
+        values[i] = adders[i].sumThenReset();
+      }
+    }
+    return new Snapshot(values[SIZE], values[DEGREE], values[HAS_EDGE], values[RANDOM_NEIGHBOR],
+        values[ALL_NEIGHBORS], values[NEIGHBOR], values[FOR_EACH_NEIGHBOR]);
+  }
+
+  /**
+   * The number of times each method of a {@link GraphStatistics} had been
+   * called when a snapshot was taken.
+   *
+   * @param sizeChecks
+   *   calls to {@link Graph#size()}
+   * @param degreeChecks
+   *   calls to {@link Graph#getDegree(int)}
+   * @param edgeChecks
+   *   calls to {@link Graph#hasEdge(int, int)}
+   * @param randomNeighbors
+   *   calls to {@link Graph#getRandomNeighbor(int, RandomGenerator)}
+   * @param allNeighbors
+   *   calls to {@link Graph#getAllNeighbors(int)}
+   * @param neighbors
+   *   calls to {@link Graph#getNeighbor(int, int)}
+   * @param forEachNeighbors
+   *   calls to {@link Graph#forEachNeighbor(int, IntConsumer)}
+   */
+  public record Snapshot(long sizeChecks,
+                         long degreeChecks,
+                         long edgeChecks,
+                         long randomNeighbors,
+                         long allNeighbors,
+                         long neighbors,
+                         long forEachNeighbors) {
+    /**
+     * @return the total number of queries about the graph's edges, i.e. every
+     *   call except to {@link Graph#size()}
+     */
+    public long queries() {
+      return degreeChecks + edgeChecks + randomNeighbors + allNeighbors + neighbors
+          + forEachNeighbors;
+    }
+
+    /**
+     * @param earlier
+     *   a snapshot taken earlier from the same wrapper, without a reset since
+     * @return the number of calls made between the two snapshots
+     */
+    public Snapshot minus(Snapshot earlier) {
+      return new Snapshot(sizeChecks - earlier.sizeChecks, degreeChecks - earlier.degreeChecks,
+          edgeChecks - earlier.edgeChecks, randomNeighbors - earlier.randomNeighbors,
+          allNeighbors - earlier.allNeighbors, neighbors - earlier.neighbors,
+          forEachNeighbors - earlier.forEachNeighbors);
+    }
   }
 }
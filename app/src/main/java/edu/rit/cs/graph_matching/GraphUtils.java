@@ -1,12 +1,27 @@
 package edu.rit.cs.graph_matching;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 public class GraphUtils {
+    /** The number of vertices whose edges are formatted by each parallel task */
+    private static final int DOT_CHUNK_VERTICES = 1 << 14;
+
     private GraphUtils() {}
 
     /**
@@ -14,6 +29,9 @@ public class GraphUtils {
      * matching The function basically keeps track of all vertices seen so far,
      * and if any vertex is already used in another edge, it returns false.
      * Otherwise, it returns true.
+     * <p>
+     * This only checks that the edges are vertex-disjoint, not that they exist
+     * in any graph; see {@link #isValidMatching(Graph, int[])}.
      *
      * @param edges
      *     the set of edges
@@ -33,6 +51,127 @@ public class GraphUtils {
         return true;
     }
 
+    /**
+     * Determines whether an array of mates is a valid matching on a graph: the
+     * array has one entry per vertex, every matched pair is symmetric, and
+     * every matched edge exists in the graph. Runs in linear time without
+     * allocating.
+     *
+     * @param graph
+     *     the graph
+     * @param mates
+     *     the vertex matched with each vertex, or -1 if unmatched
+     * @return true iff the mates form a matching on the graph
+     */
+    public static boolean isValidMatching(Graph graph, int[] mates) {
+        int n = graph.size();
+        if (mates.length != n) {
+            return false;
+        }
+
+        for (int v = 0; v < n; v++) {
+            int w = mates[v];
+            if (w == -1) {
+                continue;
+            }
+            if (w < 0 || w >= n || w == v || mates[w] != v) {
+                return false;
+            }
+            if (v < w && !graph.hasEdge(v, w)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a matching is valid on a graph: it has the same
+     * number of vertices, and every matched edge exists in the graph.
+     *
+     * @param graph
+     *     the graph
+     * @param matching
+     *     the matching
+     * @return true iff the matching is a matching on the graph
+     */
+    public static boolean isValidMatching(Graph graph, Matching matching) {
+        return isValidMatching(graph, matching.mates());
+    }
+
+    /**
+     * Determines whether a list of edges is a valid matching on a graph: no
+     * vertex is used by more than one edge, and every edge exists in the
+     * graph. Runs in linear time, using one bit per vertex.
+     *
+     * @param graph
+     *     the graph
+     * @param edges
+     *     the edges, stored as consecutive pairs of vertices
+     * @return true iff the edges form a matching on the graph
+     */
+    public static boolean isValidMatchingEdgeList(Graph graph, int[] edges) {
+        if (edges.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected an even number of vertices");
+        }
+
+        int n = graph.size();
+        BitSet used = new BitSet(n);
+        for (int i = 0; i < edges.length; i += 2) {
+            int v1 = edges[i];
+            int v2 = edges[i + 1];
+            if (v1 < 0 || v1 >= n || v2 < 0 || v2 >= n || v1 == v2) {
+                return false;
+            }
+            if (used.get(v1) || used.get(v2) || !graph.hasEdge(v1, v2)) {
+                return false;
+            }
+            used.set(v1);
+            used.set(v2);
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a valid matching is maximal, i.e. no edge of the graph
+     * connects two unmatched vertices. The matching is assumed to be valid;
+     * see {@link #isValidMatching(Graph, int[])}.
+     *
+     * @param graph
+     *     the graph
+     * @param mates
+     *     the vertex matched with each vertex, or -1 if unmatched
+     * @return true iff the matching is maximal
+     */
+    public static boolean isMaximalMatching(Graph graph, int[] mates) {
+        for (int v = 0; v < graph.size(); v++) {
+            if (mates[v] >= 0) {
+                continue;
+            }
+
+            int degree = graph.getDegree(v);
+            for (int i = 0; i < degree; i++) {
+                if (mates[graph.getNeighbor(v, i)] < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a valid matching is maximal, i.e. no edge of the graph
+     * connects two unmatched vertices.
+     *
+     * @param graph
+     *     the graph
+     * @param matching
+     *     the matching
+     * @return true iff the matching is maximal
+     */
+    public static boolean isMaximalMatching(Graph graph, Matching matching) {
+        return isMaximalMatching(graph, matching.mates());
+    }
+
     /**
      * Generate a Graphviz "dot" file representation of this graph. "Dot" files
      * can subsequently be visualized as images or interactive previews using
@@ -44,22 +183,184 @@ public class GraphUtils {
      *     the file to write the data
      */
     public static void generateDotFile(Graph graph, File outputFile) throws IOException {
-        try (PrintWriter writer = new PrintWriter(outputFile)) {
-            writer.println("graph G {");
+        generateDotFile(graph, outputFile.toPath(), DotOptions.DEFAULT);
+    }
 
+    /**
+     * Generate a Graphviz "dot" file representation of this graph, with extra
+     * options. Text is formatted directly into byte buffers rather than through
+     * Strings, optionally in parallel chunks of vertices, and the output can
+     * optionally be gzipped.
+     *
+     * @param graph
+     *     the graph to convert
+     * @param outputFile
+     *     the file to write the data
+     * @param options
+     *     how to write the file
+     */
+    public static void generateDotFile(Graph graph, Path outputFile, DotOptions options)
+            throws IOException {
+        Matching matching = options.matching();
+        if (matching != null && matching.vertexCount() != graph.size()) {
+            throw new IllegalArgumentException("Matching is for a graph of a different size");
+        }
+
+        // The file is its own resource, so it is closed even if the GZIP header fails to write
+        try (OutputStream file = Files.newOutputStream(outputFile);
+                OutputStream out = options.gzip()
+                        ? new GZIPOutputStream(file, AsciiWriter.DEFAULT_BUFFER_SIZE)
+                        : file;
+                AsciiWriter writer = new AsciiWriter(out)) {
+            writer.write("graph G {\n");
             for (int v = 0; v < graph.size(); v++) {
-                writer.println(v + ";");
+                writer.write(v)
+                      .write(";\n");
             }
 
-            for (int v = 0; v < graph.size(); v++) {
-                for (int u : graph.getAllNeighbors(v)) {
-                    if (v < u) {
-                        writer.println(v + " -- " + u + ";");
+            if (options.parallelism() == 1) {
+                writeDotEdges(graph, matching, 0, graph.size(), writer);
+            } else {
+                writeDotEdgesParallel(graph, matching, options.parallelism(), writer);
+            }
+
+            writer.write("}\n");
+        }
+    }
+
+    /**
+     * Write the dot statements for every edge whose smaller vertex is in a
+     * range.
+     *
+     * @param graph
+     *     the graph
+     * @param matching
+     *     the matching to highlight, or null
+     * @param from
+     *     the first vertex, inclusive
+     * @param to
+     *     the last vertex, exclusive
+     * @param writer
+     *     the destination
+     */
+    private static void writeDotEdges(Graph graph, Matching matching, int from, int to,
+            AsciiWriter writer) throws IOException {
+        for (int v = from; v < to; v++) {
+            int degree = graph.getDegree(v);
+            for (int i = 0; i < degree; i++) {
+                int u = graph.getNeighbor(v, i);
+                if (v < u) {
+                    writer.write(v)
+                          .write(" -- ")
+                          .write(u);
+                    if (matching != null && matching.contains(v, u)) {
+                        writer.write(" [color=red, penwidth=3]");
                     }
+                    writer.write(";\n");
                 }
             }
+        }
+    }
+
+    /**
+     * Write the dot statements for every edge, formatting chunks of vertices in
+     * parallel and writing them in order. Only a bounded number of formatted
+     * chunks are held in memory at once.
+     *
+     * @param graph
+     *     the graph, which must be safe for concurrent reads
+     * @param matching
+     *     the matching to highlight, or null
+     * @param parallelism
+     *     the number of threads
+     * @param writer
+     *     the destination
+     */
+    private static void writeDotEdgesParallel(Graph graph, Matching matching, int parallelism,
+            AsciiWriter writer) throws IOException {
+        int n = graph.size();
+        Deque<Future<ByteArrayOutputStream>> pending = new ArrayDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (long from = 0; from < n || !pending.isEmpty(); from += DOT_CHUNK_VERTICES) {
+                if (from < n) {
+                    int start = (int) from;
+                    int end = (int) Math.min(n, from + DOT_CHUNK_VERTICES);
+                    pending.add(executor.submit(() -> {
+                        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+                        try (AsciiWriter chunkWriter = new AsciiWriter(chunk)) {
+                            writeDotEdges(graph, matching, start, end, chunkWriter);
+                        }
+                        return chunk;
+                    }));
+                }
+
+                if (from >= n || pending.size() > parallelism * 2) {
+                    ByteArrayOutputStream chunk = pending.remove()
+                                                         .get();
+                    writer.write(chunk.toByteArray(), 0, chunk.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException("Interrupted while writing dot file");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Options for {@link GraphUtils#generateDotFile(Graph, Path, DotOptions)}.
+     * Use the {@code with} methods to modify {@link #DEFAULT}.
+     *
+     * @param matching
+     *     a matching whose edges are highlighted, or null
+     * @param gzip
+     *     whether to compress the file with gzip
+     * @param parallelism
+     *     the number of threads used to format edges
+     */
+    public record DotOptions(Matching matching, boolean gzip, int parallelism) {
+        /** Plain, uncompressed output formatted by a single thread */
+        public static final DotOptions DEFAULT = new DotOptions(null, false, 1);
+
+        public DotOptions {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+        }
+
+        /**
+         * @param matching
+         *     a matching whose edges are highlighted, or null
+         * @return a copy of these options with the given matching
+         */
+        public DotOptions withMatching(Matching matching) {
+            return new DotOptions(matching, gzip, parallelism);
+        }
+
+        /**
+         * @param gzip
+         *     whether to compress the file with gzip
+         * @return a copy of these options with the given compression
+         */
+        public DotOptions withGzip(boolean gzip) {
+            return new DotOptions(matching, gzip, parallelism);
+        }
 
-            writer.println("}");
+        /**
+         * @param parallelism
+         *     the number of threads used to format edges
+         * @return a copy of these options with the given parallelism
+         */
+        public DotOptions withParallelism(int parallelism) {
+            return new DotOptions(matching, gzip, parallelism);
         }
     }
 }
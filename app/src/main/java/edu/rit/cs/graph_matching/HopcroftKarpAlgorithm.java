@@ -0,0 +1,281 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The Hopcroft-Karp algorithm for maximum matching in a bipartite graph, such
+ * as those produced by
+ * {@link GraphGenerator#generateRegularBipartiteGraph(MutableGraph, int)}.
+ * <p>
+ * Each phase runs a BFS from every unmatched left vertex to build a layered
+ * graph of shortest augmenting paths, followed by a DFS that augments along a
+ * maximal set of vertex-disjoint shortest paths. Only O(sqrt V) phases are
+ * needed, for a total runtime of O(E sqrt V). All state is kept in flat int
+ * arrays, and the DFS is iterative so that long augmenting paths can't
+ * overflow the stack.
+ */
+public class HopcroftKarpAlgorithm {
+  /** The distance assigned to left vertices outside the layered graph */
+  private static final int INFINITY = Integer.MAX_VALUE;
+
+  /** The input graph */
+  private final Graph graph;
+
+  /** All vertices on the left side of the bipartition */
+  private final int[] leftVertices;
+
+  /**
+   * matches[v] = vertex matched with vertex v, or -1 if unmatched
+   */
+  private final int[] matches;
+
+  /**
+   * distances[u] = layer of left vertex u in the current phase's layered
+   * graph, or {@link #INFINITY} if u isn't (or is no longer) part of it
+   */
+  private final int[] distances;
+
+  /**
+   * nextEdges[u] = index of the next neighbor of left vertex u to try during
+   * the current phase's DFS
+   */
+  private final int[] nextEdges;
+
+  /** The BFS queue, holding left vertices only */
+  private final int[] queue;
+
+  /** The left vertices on the current DFS path */
+  private final int[] pathLeft;
+
+  /**
+   * pathRight[i] = the right vertex used to leave pathLeft[i] on the current
+   * DFS path
+   */
+  private final int[] pathRight;
+
+  /**
+   * The layer at which the shortest augmenting paths of the current phase end
+   */
+  private int shortestLayer;
+
+  /**
+   * Create a bipartite matching solver for the given graph, detecting its
+   * bipartition automatically.
+   *
+   * @param graph
+   *   the graph to be solved
+   * @throws IllegalArgumentException
+   *   if the graph is not bipartite
+   */
+  public HopcroftKarpAlgorithm(Graph graph) {
+    this(graph, findBipartition(graph));
+  }
+
+  /**
+   * Create a bipartite matching solver for the given graph, with a known
+   * bipartition.
+   *
+   * @param graph
+   *   the graph to be solved
+   * @param left
+   *   the set of vertices on the left side of the bipartition; all other
+   *   vertices are on the right side
+   * @throws IllegalArgumentException
+   *   if an edge connects two vertices on the same side
+   */
+  public HopcroftKarpAlgorithm(Graph graph, BitSet left) {
+    int n = graph.size();
+    for (int v = 0; v < n; v++) {
+      int degree = graph.getDegree(v);
+      for (int i = 0; i < degree; i++) {
+        int u = graph.getNeighbor(v, i);
+        if (left.get(u) == left.get(v)) {
+          throw new IllegalArgumentException(
+              "Edge " + new Edge(v, u) + " connects two vertices on the same side");
+        }
+      }
+    }
+
+    this.graph = graph;
+    this.leftVertices = left.stream()
+                            .filter(v -> v < n)
+                            .toArray();
+
+    this.matches = new int[n];
+    this.distances = new int[n];
+    this.nextEdges = new int[n];
+    this.queue = new int[leftVertices.length];
+    this.pathLeft = new int[leftVertices.length];
+    this.pathRight = new int[leftVertices.length];
+  }
+
+  /**
+   * Find a bipartition of a graph by 2-coloring each connected component.
+   *
+   * @param graph
+   *   the graph
+   * @return the vertices on the left side of the bipartition
+   * @throws IllegalArgumentException
+   *   if the graph is not bipartite
+   */
+  public static BitSet findBipartition(Graph graph) {
+    int n = graph.size();
+    BitSet left = new BitSet(n);
+    BitSet visited = new BitSet(n);
+    int[] stack = new int[n];
+
+    for (int root = 0; root < n; root++) {
+      if (visited.get(root)) {
+        continue;
+      }
+
+      visited.set(root);
+      left.set(root);
+      int top = 0;
+      stack[top++] = root;
+
+      while (top > 0) {
+        int v = stack[--top];
+        boolean side = left.get(v);
+
+        int degree = graph.getDegree(v);
+        for (int i = 0; i < degree; i++) {
+          int u = graph.getNeighbor(v, i);
+          if (!visited.get(u)) {
+            visited.set(u);
+            left.set(u, !side);
+            stack[top++] = u;
+          } else if (left.get(u) == side) {
+            throw new IllegalArgumentException("Graph is not bipartite");
+          }
+        }
+      }
+    }
+
+    return left;
+  }
+
+  /**
+   * Compute the maximum matching on the input graph.
+   *
+   * @return the edges in the maximum matching
+   */
+  public Matching computeMaximumMatching() {
+    // Start from a greedy maximal matching
+    Arrays.fill(matches, -1);
+    for (int u : leftVertices) {
+      int degree = graph.getDegree(u);
+      for (int i = 0; i < degree; i++) {
+        int v = graph.getNeighbor(u, i);
+        if (matches[v] < 0) {
+          matches[u] = v;
+          matches[v] = u;
+          break;
+        }
+      }
+    }
+
+    while (buildLayers()) {
+      for (int u : leftVertices) {
+        nextEdges[u] = 0;
+      }
+      for (int u : leftVertices) {
+        if (matches[u] < 0) {
+          augmentFrom(u);
+        }
+      }
+    }
+
+    return new Matching(matches.clone());
+  }
+
+  /**
+   * Run a BFS from every unmatched left vertex, assigning each reachable left
+   * vertex its layer in the alternating BFS forest. Layers beyond the shortest
+   * augmenting path are not explored.
+   *
+   * @return true iff an augmenting path exists
+   */
+  private boolean buildLayers() {
+    int head = 0;
+    int tail = 0;
+    for (int u : leftVertices) {
+      if (matches[u] < 0) {
+        distances[u] = 0;
+        queue[tail++] = u;
+      } else {
+        distances[u] = INFINITY;
+      }
+    }
+
+    shortestLayer = INFINITY;
+    while (head < tail) {
+      int u = queue[head++];
+      if (distances[u] >= shortestLayer) {
+        // every remaining vertex is too deep to be on a shortest path
+        break;
+      }
+
+      int degree = graph.getDegree(u);
+      for (int i = 0; i < degree; i++) {
+        int w = matches[graph.getNeighbor(u, i)];
+        if (w < 0) {
+          // found an unmatched right vertex
+          shortestLayer = distances[u];
+        } else if (distances[w] == INFINITY) {
+          distances[w] = distances[u] + 1;
+          queue[tail++] = w;
+        }
+      }
+    }
+
+    return shortestLayer != INFINITY;
+  }
+
+  /**
+   * Run a DFS through the layered graph from an unmatched left vertex, and
+   * augment along the first shortest augmenting path found. Dead ends are
+   * removed from the layered graph so that they are never explored twice in
+   * the same phase.
+   *
+   * @param root
+   *   the unmatched left vertex
+   */
+  private void augmentFrom(int root) {
+    int top = 0;
+    pathLeft[top++] = root;
+
+    while (top > 0) {
+      int u = pathLeft[top - 1];
+
+      if (nextEdges[u] == graph.getDegree(u)) {
+        // Dead end; remove from layered graph
+        distances[u] = INFINITY;
+        top--;
+        continue;
+      }
+
+      int v = graph.getNeighbor(u, nextEdges[u]++);
+      int w = matches[v];
+
+      if (w < 0) {
+        if (distances[u] == shortestLayer) {
+          // Found an augmenting path; flip every edge along it
+          pathRight[top - 1] = v;
+          for (int i = top - 1; i >= 0; i--) {
+            int left = pathLeft[i];
+            int right = pathRight[i];
+            matches[left] = right;
+            matches[right] = left;
+          }
+          return;
+        }
+      } else if (distances[w] == distances[u] + 1) {
+        // Descend to the next layer
+        pathRight[top - 1] = v;
+        pathLeft[top++] = w;
+      }
+    }
+  }
+}
@@ -1,10 +1,11 @@
 package edu.rit.cs.graph_matching;
 
 import java.util.AbstractSet;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.PrimitiveIterator;
 import java.util.random.RandomGenerator;
 
@@ -29,27 +30,35 @@ import java.util.random.RandomGenerator;
  * would be wrong to write a program that depended on this exception for its
  * correctness: <i>the fail-fast behavior of iterators should be used only to
  * detect bugs.</i>
+ *
+ * @implNote Each slot of the hash table is a single long holding both an
+ *   integer and its position in the dense {@link #values} array, with
+ *   sentinels for empty and deleted slots. A lookup therefore reads one array
+ *   element per probe, and most lookups are resolved within one cache line.
+ * @implNote Deleted slots are reclaimed by rehashing the table in place once
+ *   they fill it, so workloads that repeatedly add and remove integers keep
+ *   short probe sequences without the table growing. The table only grows when
+ *   live integers need the room, and never shrinks on its own; use
+ *   {@link #trimToSize()} to release memory after removing many integers.
  */
 public class IntHashSet extends AbstractSet<Integer> {
   /** The proportion of the hash table to fill before increasing its size */
   private static final double LOAD_FACTOR = 0.75;
 
-  /**
-   * The hash table. The array indexes are the hashes, and the array values are
-   * pointers to the value in {@link #values}.
-   */
-  private int[] table;
+  /** Marks a slot of {@link #table} that has never held an integer */
+  private static final long EMPTY = 0L;
 
-  /**
-   * Tracks whether each position in {@link #table} contains a live value.
-   */
-  private final BitSet occupied;
+  /** Marks a slot of {@link #table} whose integer was removed */
+  private static final long DELETED = -1L;
 
   /**
-   * Tracks whether each position in {@link #table} contains a deleted value
-   * that hasn't yet been reclaimed.
+   * The hash table. The array indexes are the hashes. Each live slot holds an
+   * integer in its low 32 bits and one more than the integer's position in
+   * {@link #values} in its high 32 bits, so live slots are always positive;
+   * see {@link #slot(int, int)}. Other slots are {@link #EMPTY} or
+   * {@link #DELETED}.
    */
-  private final BitSet deleted;
+  private long[] table;
 
   /** The bitmask applied to hashes to generate table indexes. */
   private int mask;
@@ -80,11 +89,8 @@ public class IntHashSet extends AbstractSet<Integer> {
    *   the expected number of elements
    */
   public IntHashSet(int expectedSize) {
-    int capacity = tableSizeFor(expectedSize);
-    occupied = new BitSet(capacity);
-    deleted = new BitSet(capacity);
-    values = new int[expectedSize];
-    createTable(capacity);
+    values = new int[Math.max(expectedSize, 1)];
+    createTable(tableSizeFor(expectedSize));
   }
 
   /**
@@ -111,6 +117,22 @@ public class IntHashSet extends AbstractSet<Integer> {
     return values[rd.nextInt(size)];
   }
 
+  /**
+   * Get the integer at a particular position in this set. Positions are in the
+   * range [0, size), and follow the same order as {@link #iterator()}. An
+   * integer's position may change whenever this set is modified.
+   *
+   * @param index
+   *   the position of the integer
+   * @return the integer at that position
+   * @throws IndexOutOfBoundsException
+   *   if {@code index} is not in the range [0, size)
+   */
+  public int get(int index) {
+    Objects.checkIndex(index, size);
+    return values[index];
+  }
+
   /**
    * Adds the specified element to this set if it is not already present. More
    * formally, adds the specified element {@code e} to this set if the set
@@ -146,7 +168,9 @@ public class IntHashSet extends AbstractSet<Integer> {
    */
   public boolean add(int e) {
     if (table.length - empty >= maxFill) {
-      rehashTable();
+      // Grow only if live integers fill most of the allowed slots; otherwise,
+      // the table is clogged with deleted slots, so clear them in place
+      rehashTable(size >= maxFill - (maxFill >> 2) ? table.length << 1 : table.length);
     }
     if (size >= values.length) {
       growValues();
@@ -157,16 +181,13 @@ public class IntHashSet extends AbstractSet<Integer> {
     int firstDeleted = -1;
 
     while (true) {
-      if (deleted.get(index)) {
-        if (firstDeleted < 0) {
-          firstDeleted = index;
-        }
-      } else if (occupied.get(index)) {
-        if (values[table[index]] == e) {
+      long slot = table[index];
+      if (slot > 0) {
+        if ((int) slot == e) {
           // value is already present
           return false;
         }
-      } else {
+      } else if (slot == EMPTY) {
         // value not present; add it
 
         if (firstDeleted >= 0) {
@@ -175,12 +196,12 @@ public class IntHashSet extends AbstractSet<Integer> {
           empty--;
         }
 
-        table[index] = size;
+        table[index] = slot(e, size);
         values[size] = e;
-        deleted.clear(index);
-        occupied.set(index);
         size++;
         return true;
+      } else if (firstDeleted < 0) {
+        firstDeleted = index;
       }
 
       index = (index + increment) & mask;
@@ -209,17 +230,18 @@ public class IntHashSet extends AbstractSet<Integer> {
    * @return {@code true} if this set contains the specified integer
    */
   public boolean contains(int e) {
+    long[] table = this.table;
     int index = hash1(e) & mask;
     int increment = hash2(e);
     while (true) {
-      if (!occupied.get(index) && !deleted.get(index)) {
-        // empty slot
-        return false;
-      }
-      if (occupied.get(index) && values[table[index]] == e) {
+      long slot = table[index];
+      if (slot > 0 && (int) slot == e) {
         // found value
         return true;
       }
+      if (slot == EMPTY) {
+        return false;
+      }
       index = (index + increment) & mask;
     }
   }
@@ -255,13 +277,10 @@ public class IntHashSet extends AbstractSet<Integer> {
     int index = hash1(e) & mask;
     int increment = hash2(e);
     while (true) {
-      if (!occupied.get(index) && !deleted.get(index)) {
-        // empty slot
-        return false;
-      }
-      if (occupied.get(index) && values[table[index]] == e) {
+      long slot = table[index];
+      if (slot > 0 && (int) slot == e) {
         // found value
-        int removeIndex = table[index];
+        int removeIndex = position(slot);
 
         if (removeIndex != size - 1) {
           // swap last value into removed slot
@@ -270,11 +289,13 @@ public class IntHashSet extends AbstractSet<Integer> {
           values[removeIndex] = toMove;
         }
 
-        occupied.clear(index);
-        deleted.set(index);
+        table[index] = DELETED;
         size--;
         return true;
       }
+      if (slot == EMPTY) {
+        return false;
+      }
 
       index = (index + increment) & mask;
     }
@@ -288,8 +309,7 @@ public class IntHashSet extends AbstractSet<Integer> {
   public void clear() {
     size = 0;
     empty = table.length;
-    occupied.clear();
-    deleted.clear();
+    Arrays.fill(table, EMPTY);
   }
 
   /**
@@ -308,11 +328,49 @@ public class IntHashSet extends AbstractSet<Integer> {
     return size;
   }
 
+  /**
+   * Shrink this set's internal storage to the smallest that can hold its
+   * current integers, and reclaim every deleted slot. Useful after removing
+   * many integers from a set that is kept for a long time.
+   */
+  public void trimToSize() {
+    if (values.length > Math.max(size, 1)) {
+      values = Arrays.copyOf(values, Math.max(size, 1));
+    }
+    rehashTable(tableSizeFor(size));
+  }
+
+  /**
+   * Grow this set's internal storage, if needed, so that it can hold at least
+   * expectedSize integers without rehashing or growing. Useful before adding a
+   * known number of integers to an existing set.
+   *
+   * @param expectedSize
+   *   the expected number of integers
+   */
+  public void ensureCapacity(int expectedSize) {
+    if (values.length < expectedSize) {
+      values = Arrays.copyOf(values, expectedSize);
+    }
+    int capacity = tableSizeFor(expectedSize);
+    if (capacity > table.length) {
+      rehashTable(capacity);
+    }
+  }
+
+  /**
+   * @return the number of slots in the hash table, for testing
+   */
+  int capacity() {
+    return table.length;
+  }
+
   // --- Implementation-only details ---
 
   /**
    * Initialize the hash table with the specified capacity, and clear it of all
-   * entries. Preserve {@link #values}.
+   * entries. Preserve {@link #values} and {@link #size}. The current table is
+   * reused if it has the same capacity.
    *
    * @param capacity
    *   the capacity of the table, a power of 2
@@ -320,11 +378,34 @@ public class IntHashSet extends AbstractSet<Integer> {
   private void createTable(int capacity) {
     mask = capacity - 1;
     maxFill = (int) (capacity * LOAD_FACTOR);
-    table = new int[capacity];
-    size = 0;
+    if (table != null && table.length == capacity) {
+      Arrays.fill(table, EMPTY);
+    } else {
+      table = new long[capacity];
+    }
     empty = capacity;
-    occupied.clear();
-    deleted.clear();
+  }
+
+  /**
+   * Encode a live slot of {@link #table}.
+   *
+   * @param e
+   *   the integer
+   * @param position
+   *   the position of the integer in {@link #values}
+   * @return the slot, which is always positive
+   */
+  private static long slot(int e, int position) {
+    return (long) (position + 1) << 32 | (e & 0xFFFFFFFFL);
+  }
+
+  /**
+   * @param slot
+   *   a live slot of {@link #table}
+   * @return the position of the slot's integer in {@link #values}
+   */
+  private static int position(long slot) {
+    return (int) (slot >>> 32) - 1;
   }
 
   /**
@@ -341,8 +422,9 @@ public class IntHashSet extends AbstractSet<Integer> {
     int index = hash1(e) & mask;
     int increment = hash2(e);
     while (true) {
-      if (occupied.get(index) && values[table[index]] == e) {
-        table[index] = newIndex;
+      long slot = table[index];
+      if (slot > 0 && (int) slot == e) {
+        table[index] = slot(e, newIndex);
         return;
       }
       index = (index + increment) & mask;
@@ -363,23 +445,31 @@ public class IntHashSet extends AbstractSet<Integer> {
   }
 
   /**
-   * Increase the size of {@link #table} to accommodate more elements. All
-   * integers within this set are copied to the new table, but not necessarily
-   * to the same location.
+   * Rebuild {@link #table} with the given capacity, dropping every deleted
+   * slot. All integers within this set are copied to the new table, but not
+   * necessarily to the same location. If the capacity is unchanged, the table
+   * is rebuilt in place.
    *
-   * @implNote This method doubles the size of {@link #table}.
-   * @implNote {@link #values} is preserved as-is.
+   * @param capacity
+   *   the new capacity of the table, a power of 2 larger than the size of this
+   *   set
+   * @implNote {@link #values} is preserved as-is, so it serves as the list of
+   *   integers to re-insert.
    */
-  private void rehashTable() {
-    int oldSize = size;
-    createTable(table.length << 1); // double the previous size
-
-    // re-add previous elements
-    // it's safe to iterate over values, because elements will be re-inserted
-    // at the same position
-    for (int i = 0; i < oldSize; i++) {
-      add(values[i]);
+  private void rehashTable(int capacity) {
+    createTable(capacity);
+
+    // Integers in values are distinct, so each can go in the first empty slot
+    for (int i = 0; i < size; i++) {
+      int e = values[i];
+      int index = hash1(e) & mask;
+      int increment = hash2(e);
+      while (table[index] != EMPTY) {
+        index = (index + increment) & mask;
+      }
+      table[index] = slot(e, i);
     }
+    empty -= size;
   }
 
   /**
@@ -428,7 +518,8 @@ public class IntHashSet extends AbstractSet<Integer> {
    * @return the size of the hash table
    */
   private static int tableSizeFor(int expected) {
-    int minCapacity = (int) (expected / LOAD_FACTOR);
+    // Always leave at least one empty slot, which ends unsuccessful lookups
+    int minCapacity = Math.max((int) (expected / LOAD_FACTOR), expected + 1);
     int n = -1 >>> Integer.numberOfLeadingZeros(minCapacity - 1);
     return (n < 0) ? 1 : (n + 1);
   }
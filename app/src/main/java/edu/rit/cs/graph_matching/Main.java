@@ -1,7 +1,233 @@
 package edu.rit.cs.graph_matching;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Command line entry point, which runs a sweep of matching experiments with
+ * {@link ExperimentRunner}. Run with {@code --help} for a list of options.
+ */
 public class Main {
+  private static final String USAGE = """
+      Usage: Main [options]
+
+      Generates graphs and runs matching algorithms on them, writing one row per
+      run with its timing, matching size and graph query counts. Lists are comma
+      separated, and integer lists may contain inclusive ranges such as 0..9.
+
+        --family=regular|bipartite  the family of generated graphs (default regular)
+        --sizes=LIST                numbers of vertices (default 10000)
+        --degrees=LIST              degrees of the generated graphs (default 3)
+        --mutations=LIST            double-edge swaps per graph (default 0)
+        --seeds=LIST                random seeds (default 0)
+        --algorithms=LIST           any of dani-hayes, edmonds, phased-edmonds
+                                    (default dani-hayes,edmonds)
+        --time-limit=SECONDS        time limit of each dani-hayes run (default none)
+        --threads=N                 graphs processed in parallel (default: all cores)
+        --output=FILE               output file (default: standard output)
+        --format=csv|json           output format; json writes one object per line
+                                    (default json for .json/.jsonl files, else csv)
+        --resume                    skip runs already in the output file and append
+        --help                      print this message
+      """;
+
   public static void main(String[] args) {
-    System.out.println("Hello World!");
+    Options options;
+    try {
+      options = parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+    if (options == null) {
+      System.out.print(USAGE);
+      return;
+    }
+
+    ExperimentRunner runner = new ExperimentRunner(options.config());
+    try {
+      int runs;
+      if (options.output() == null) {
+        Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        options.format()
+               .writeHeader(out);
+        runs = runner.run(out, options.format(), Set.of());
+      } else {
+        runs = runner.run(options.output(), options.format(), options.resume());
+      }
+      System.err.println("Completed " + runs + " runs");
+    } catch (IOException e) {
+      System.err.println("Failed to write results: " + e.getMessage());
+      System.exit(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+      System.exit(130);
+    }
   }
+
+  /**
+   * Parse the command line.
+   *
+   * @param args
+   *   the command line arguments
+   * @return the parsed options, or null if help was requested
+   * @throws IllegalArgumentException
+   *   if the arguments are invalid
+   */
+  static Options parseArguments(String[] args) {
+    ExperimentRunner.Family family = ExperimentRunner.Family.REGULAR;
+    List<Integer> sizes = List.of(10_000);
+    List<Integer> degrees = List.of(3);
+    List<Integer> mutations = List.of(0);
+    List<Long> seeds = List.of(0L);
+    List<ExperimentRunner.Algorithm> algorithms = List.of(ExperimentRunner.Algorithm.DANI_HAYES,
+        ExperimentRunner.Algorithm.EDMONDS);
+    Duration timeLimit = null;
+    int threads = Runtime.getRuntime()
+                         .availableProcessors();
+    Path output = null;
+    ExperimentRunner.Format format = null;
+    boolean resume = false;
+
+    for (String arg : args) {
+      if (arg.equals("--help") || arg.equals("-h")) {
+        return null;
+      } else if (arg.equals("--resume")) {
+        resume = true;
+        continue;
+      }
+
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Unexpected argument '" + arg + "'");
+      }
+      String name = arg.substring(2, separator);
+      String value = arg.substring(separator + 1);
+      try {
+        switch (name) {
+          case "family" -> family = ExperimentRunner.parseConstant(ExperimentRunner.Family.class,
+              value);
+          case "sizes" -> sizes = toInts(parseRanges(value));
+          case "degrees" -> degrees = toInts(parseRanges(value));
+          case "mutations" -> mutations = toInts(parseRanges(value));
+          case "seeds" -> seeds = parseRanges(value);
+          case "algorithms" -> algorithms = parseList(value,
+              s -> ExperimentRunner.parseConstant(ExperimentRunner.Algorithm.class, s));
+          case "time-limit" -> timeLimit = Duration.ofMillis(
+              Math.round(Double.parseDouble(value) * 1000));
+          case "threads" -> threads = Integer.parseInt(value);
+          case "output" -> output = Path.of(value);
+          case "format" -> format = ExperimentRunner.parseConstant(ExperimentRunner.Format.class,
+              value);
+          default -> throw new IllegalArgumentException("Unknown option '--" + name + "'");
+        }
+      } catch (NumberFormatException | ArithmeticException e) {
+        throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+      }
+    }
+
+    if (resume && output == null) {
+      throw new IllegalArgumentException("--resume requires --output");
+    }
+    if (format == null) {
+      String file = output == null ? "" : output.getFileName()
+                                                .toString();
+      format = file.endsWith(".json") || file.endsWith(".jsonl")
+               ? ExperimentRunner.Format.JSON
+               : ExperimentRunner.Format.CSV;
+    }
+
+    ExperimentRunner.Config config = new ExperimentRunner.Config(family, sizes, degrees,
+        mutations, seeds, algorithms, timeLimit, threads);
+    return new Options(config, output, format, resume);
+  }
+
+  /**
+   * Parse a comma separated list.
+   *
+   * @param value
+   *   the list
+   * @param parser
+   *   parses a single element
+   * @return the elements of the list
+   */
+  private static <T> List<T> parseList(String value, Function<String, T> parser) {
+    List<T> list = new ArrayList<>();
+    for (String element : value.split(",")) {
+      if (!element.isBlank()) {
+        list.add(parser.apply(element.trim()));
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Parse a comma separated list of integers, where each element is either a
+   * single integer or an inclusive range such as {@code 0..9}.
+   *
+   * @param value
+   *   the list
+   * @return the integers in the list
+   */
+  static List<Long> parseRanges(String value) {
+    List<Long> list = new ArrayList<>();
+    for (String element : parseList(value, Function.identity())) {
+      int range = element.indexOf("..");
+      if (range < 0) {
+        list.add(Long.parseLong(element));
+        continue;
+      }
+
+      long from = Long.parseLong(element.substring(0, range));
+      long to = Long.parseLong(element.substring(range + 2));
+      if (from > to) {
+        throw new IllegalArgumentException("Invalid range '" + element + "'");
+      }
+      for (long i = from; i <= to; i++) {
+        list.add(i);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * @param values
+   *   a list of integers
+   * @return the same integers, which must all fit in an int
+   */
+  private static List<Integer> toInts(List<Long> values) {
+    List<Integer> ints = new ArrayList<>(values.size());
+    for (long value : values) {
+      ints.add(Math.toIntExact(value));
+    }
+    return ints;
+  }
+
+  /**
+   * The parsed command line.
+   *
+   * @param config
+   *   the configuration of the sweep
+   * @param output
+   *   the output file, or null for standard output
+   * @param format
+   *   the output format
+   * @param resume
+   *   whether to resume a sweep from the output file
+   */
+  record Options(ExperimentRunner.Config config,
+                 Path output,
+                 ExperimentRunner.Format format,
+                 boolean resume) {}
 }
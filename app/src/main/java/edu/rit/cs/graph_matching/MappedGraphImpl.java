@@ -0,0 +1,312 @@
+package edu.rit.cs.graph_matching;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * An immutable undirected graph that reads a binary graph file (see
+ * {@link GraphIO}) directly through memory mapping, with the same properties
+ * as {@link CompressedGraphImpl}:
+ * <ul>
+ * <li>{@link #getRandomNeighbor(int, RandomGenerator)} runs in O(1) time</li>
+ * <li>{@link #getAllNeighbors(int)} runs in O(1) time</li>
+ * <li>{@link #hasEdge(int, int)} runs in O(log d) time</li>
+ * <li>{@link #getNeighbor(int, int)} runs in O(1) time</li>
+ * </ul>
+ * <p>
+ * The offsets and adjacencies stay off-heap in the operating system's page
+ * cache, so graphs larger than the heap can be used, and opening a recently
+ * used file is nearly instant. Since a single mapping is limited to 2 GiB, the
+ * file is mapped in chunks of up to 1 GiB. Only the header is validated when
+ * the file is opened; use {@link GraphIO#readBinary(Path)} to fully validate a
+ * file.
+ * <p>
+ * All queries are safe for concurrent use. The mapping is released once the
+ * graph is garbage collected; the file must not be modified until then.
+ */
+public class MappedGraphImpl implements Graph {
+  /** log2 of the number of offsets per chunk */
+  private static final int OFFSET_CHUNK_SHIFT = 27;
+
+  /** log2 of the number of neighbors per chunk */
+  private static final int NEIGHBOR_CHUNK_SHIFT = 28;
+
+  /** The number of vertices */
+  private final int size;
+
+  /** The total number of neighbor entries, i.e. twice the number of edges */
+  private final long neighborCount;
+
+  /**
+   * The neighbors of vertex v are stored in {@link #neighbors} in the range
+   * [offset(v), offset(v + 1)). Split into chunks of
+   * 2^{@value #OFFSET_CHUNK_SHIFT} entries.
+   */
+  private final LongBuffer[] offsets;
+
+  /**
+   * The concatenated neighbor lists of every vertex, each sorted in ascending
+   * order. Split into chunks of 2^{@value #NEIGHBOR_CHUNK_SHIFT} entries.
+   */
+  private final IntBuffer[] neighbors;
+
+  /**
+   * Map a binary graph file.
+   *
+   * @param path
+   *   the binary graph file
+   * @throws IOException
+   *   if the file can't be mapped or has an invalid header
+   */
+  public MappedGraphImpl(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(GraphIO.BINARY_HEADER_BYTES)
+                                    .order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header) < 0) {
+          throw new IOException("Corrupt binary graph file: unexpected end of file");
+        }
+      }
+
+      this.size = GraphIO.checkHeader(header, channel.size());
+      this.neighborCount = header.getLong(16);
+
+      long position = GraphIO.BINARY_HEADER_BYTES;
+      this.offsets = new LongBuffer[chunkCount(size + 1L, OFFSET_CHUNK_SHIFT)];
+      for (int i = 0; i < offsets.length; i++) {
+        long count = Math.min(1L << OFFSET_CHUNK_SHIFT,
+            size + 1L - ((long) i << OFFSET_CHUNK_SHIFT));
+        offsets[i] = map(channel, position, count * Long.BYTES).asLongBuffer();
+        position += count * Long.BYTES;
+      }
+
+      this.neighbors = new IntBuffer[chunkCount(neighborCount, NEIGHBOR_CHUNK_SHIFT)];
+      for (int i = 0; i < neighbors.length; i++) {
+        long count = Math.min(1L << NEIGHBOR_CHUNK_SHIFT,
+            neighborCount - ((long) i << NEIGHBOR_CHUNK_SHIFT));
+        neighbors[i] = map(channel, position, count * Integer.BYTES).asIntBuffer();
+        position += count * Integer.BYTES;
+      }
+    }
+
+    if (offset(0) != 0 || offset(size) != neighborCount) {
+      throw new IOException("Corrupt binary graph file: invalid offsets");
+    }
+  }
+
+  /**
+   * @param count
+   *   the number of entries
+   * @param shift
+   *   log2 of the number of entries per chunk
+   * @return the number of chunks needed to hold every entry
+   */
+  private static int chunkCount(long count, int shift) {
+    return (int) ((count + (1L << shift) - 1) >>> shift);
+  }
+
+  /**
+   * Map a region of a file as little-endian and read-only.
+   *
+   * @param channel
+   *   the file
+   * @param position
+   *   the start of the region
+   * @param length
+   *   the size of the region, in bytes
+   * @return the mapped region
+   * @throws IOException
+   *   if the region can't be mapped
+   */
+  private static ByteBuffer map(FileChannel channel, long position, long length)
+      throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                  .order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * @param vertex
+   *   the vertex, or n for the total
+   * @return the index of the vertex's first neighbor
+   */
+  private long offset(int vertex) {
+    return offsets[vertex >>> OFFSET_CHUNK_SHIFT].get(vertex & ((1 << OFFSET_CHUNK_SHIFT) - 1));
+  }
+
+  /**
+   * @param index
+   *   an index into the concatenated neighbor lists
+   * @return the neighbor at that index
+   */
+  private int neighbor(long index) {
+    return neighbors[(int) (index >>> NEIGHBOR_CHUNK_SHIFT)].get(
+        (int) (index & ((1 << NEIGHBOR_CHUNK_SHIFT) - 1)));
+  }
+
+  /**
+   * Binary search a range of the neighbor lists.
+   *
+   * @param from
+   *   the first index, inclusive
+   * @param to
+   *   the last index, exclusive
+   * @param key
+   *   the neighbor to search for
+   * @return true iff the neighbor is in the range
+   */
+  private boolean search(long from, long to, int key) {
+    long low = from;
+    long high = to - 1;
+    while (low <= high) {
+      long mid = (low + high) >>> 1;
+      int value = neighbor(mid);
+      if (value < key) {
+        low = mid + 1;
+      } else if (value > key) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int getDegree(int vertex) {
+    checkVertexIndex(vertex);
+
+    return (int) (offset(vertex + 1) - offset(vertex));
+  }
+
+  @Override
+  public boolean hasEdge(int vertex1, int vertex2) {
+    checkVertexIndex(vertex1);
+    checkVertexIndex(vertex2);
+
+    return search(offset(vertex1), offset(vertex1 + 1), vertex2);
+  }
+
+  @Override
+  public int getRandomNeighbor(int vertex, RandomGenerator random) {
+    checkVertexIndex(vertex);
+
+    long start = offset(vertex);
+    int degree = (int) (offset(vertex + 1) - start);
+    return degree == 0 ? -1 : neighbor(start + random.nextInt(degree));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned set is an unmodifiable view, and iterates over neighbors in
+   * ascending order.
+   */
+  @Override
+  public Set<Integer> getAllNeighbors(int vertex) {
+    checkVertexIndex(vertex);
+
+    return new NeighborSet(offset(vertex), offset(vertex + 1));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Neighbors are indexed in ascending order.
+   */
+  @Override
+  public int getNeighbor(int vertex, int index) {
+    checkVertexIndex(vertex);
+
+    long start = offset(vertex);
+    Objects.checkIndex(index, offset(vertex + 1) - start);
+    return neighbor(start + index);
+  }
+
+  @Override
+  public void forEachNeighbor(int vertex, IntConsumer action) {
+    checkVertexIndex(vertex);
+
+    long end = offset(vertex + 1);
+    for (long i = offset(vertex); i < end; i++) {
+      action.accept(neighbor(i));
+    }
+  }
+
+  /**
+   * Gets the total number of edges in this graph.
+   *
+   * @return the number of edges
+   */
+  public long edgeCount() {
+    return neighborCount / 2;
+  }
+
+  private void checkVertexIndex(int vertex) {
+    if (vertex < 0 || vertex >= size) {
+      throw new IndexOutOfBoundsException(vertex);
+    }
+  }
+
+  /**
+   * An unmodifiable view of a single vertex's slice of {@link #neighbors}.
+   */
+  private final class NeighborSet extends AbstractSet<Integer> {
+    /** The first index of the slice, inclusive */
+    private final long from;
+    /** The last index of the slice, exclusive */
+    private final long to;
+
+    NeighborSet(long from, long to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer i && search(from, to, i);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+      return new PrimitiveIterator.OfInt() {
+        long pos = from;
+
+        @Override
+        public boolean hasNext() {
+          return pos < to;
+        }
+
+        @Override
+        public int nextInt() {
+          if (pos >= to) {
+            throw new NoSuchElementException();
+          }
+          return neighbor(pos++);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return (int) (to - from);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable matching on a graph, stored as a single array of mates. This
+ * takes 4 bytes per vertex regardless of the size of the matching, whereas a
+ * standard {@link java.util.HashSet} of {@link Edge}s costs an object and a
+ * hash entry per edge.
+ * <p>
+ * The matching can be queried with primitive methods such as
+ * {@link #getMate(int)} and {@link #forEachEdge(EdgeConsumer)}. It is also a
+ * read-only {@code Set<Edge>}, whose {@link Edge}s are only created as they are
+ * iterated over. Each edge is iterated with its smaller vertex first, in
+ * ascending order of that vertex.
+ */
+public class Matching extends AbstractSet<Edge> {
+  /**
+   * mates[v] = vertex matched with vertex v, or -1 if unmatched
+   */
+  private final int[] mates;
+
+  /** The number of edges in the matching */
+  private final int size;
+
+  /**
+   * Wrap an array of mates without copying or validating it. The caller must
+   * not modify the array afterwards.
+   *
+   * @param mates
+   *   the vertex matched with each vertex, or -1 if unmatched
+   */
+  Matching(int[] mates) {
+    int matched = 0;
+    for (int mate : mates) {
+      if (mate >= 0) {
+        matched++;
+      }
+    }
+
+    this.mates = mates;
+    this.size = matched / 2;
+  }
+
+  /**
+   * Create a matching from an array of mates.
+   *
+   * @param mates
+   *   the vertex matched with each vertex, or -1 if unmatched; this array is
+   *   copied
+   * @return the matching
+   * @throws IllegalArgumentException
+   *   if the mates are not symmetric
+   */
+  public static Matching fromMates(int[] mates) {
+    int n = mates.length;
+    for (int v = 0; v < n; v++) {
+      int w = mates[v];
+      if (w != -1 && (w < 0 || w >= n || w == v || mates[w] != v)) {
+        throw new IllegalArgumentException("Mates are not a valid matching at vertex " + v);
+      }
+    }
+    return new Matching(mates.clone());
+  }
+
+  /**
+   * @return the number of vertices in the underlying graph
+   */
+  public int vertexCount() {
+    return mates.length;
+  }
+
+  /**
+   * Get the vertex matched with a vertex.
+   *
+   * @param vertex
+   *   the vertex
+   * @return the matched vertex, or -1 if unmatched
+   */
+  public int getMate(int vertex) {
+    Objects.checkIndex(vertex, mates.length);
+    return mates[vertex];
+  }
+
+  /**
+   * @param vertex
+   *   the vertex
+   * @return true iff the vertex is matched
+   */
+  public boolean isMatched(int vertex) {
+    return getMate(vertex) >= 0;
+  }
+
+  /**
+   * Checks whether an edge is in the matching, without creating an
+   * {@link Edge}.
+   *
+   * @param vertex1
+   *   the first vertex
+   * @param vertex2
+   *   the second vertex
+   * @return true iff the edge is in the matching
+   */
+  public boolean contains(int vertex1, int vertex2) {
+    return vertex1 >= 0 && vertex1 < mates.length && vertex2 >= 0 && mates[vertex1] == vertex2;
+  }
+
+  /**
+   * Perform an action on every edge in the matching, in iteration order.
+   *
+   * @param action
+   *   the action, given the smaller vertex followed by the larger vertex
+   */
+  public void forEachEdge(EdgeConsumer action) {
+    for (int v = 0; v < mates.length; v++) {
+      if (mates[v] > v) {
+        action.accept(v, mates[v]);
+      }
+    }
+  }
+
+  /**
+   * @return the mates array itself, which must not be modified
+   */
+  int[] mates() {
+    return mates;
+  }
+
+  /**
+   * @return a copy of the mates array, such that {@code mates[v]} is the vertex
+   *   matched with v, or -1 if v is unmatched
+   */
+  public int[] toMates() {
+    return mates.clone();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Edge e && contains(e.vertex1(), e.vertex2());
+  }
+
+  @Override
+  public Iterator<Edge> iterator() {
+    return new MatchingIterator();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    // Matchings over different vertex counts can still hold the same edges
+    if (o instanceof Matching m && mates.length == m.mates.length) {
+      return Arrays.equals(mates, m.mates);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 0;
+    for (int v = 0; v < mates.length; v++) {
+      if (mates[v] > v) {
+        hash += Edge.hashCode(v, mates[v]);
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * An operation on a single edge of a matching.
+   */
+  @FunctionalInterface
+  public interface EdgeConsumer {
+    /**
+     * Perform this operation on an edge.
+     *
+     * @param vertex1
+     *   the smaller vertex
+     * @param vertex2
+     *   the larger vertex
+     */
+    void accept(int vertex1, int vertex2);
+  }
+
+  /**
+   * An iterator implementation for {@link Matching}.
+   */
+  private final class MatchingIterator implements Iterator<Edge> {
+    /** The smaller vertex of the next edge, or mates.length if none remain */
+    int next = advance(0);
+
+    @Override
+    public boolean hasNext() {
+      return next < mates.length;
+    }
+
+    @Override
+    public Edge next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      Edge edge = new Edge(next, mates[next]);
+      next = advance(next + 1);
+      return edge;
+    }
+
+    /**
+     * @param from
+     *   the first vertex to consider
+     * @return the smallest vertex at least {@code from} that is the smaller
+     *   vertex of a matched edge, or mates.length if none exist
+     */
+    private int advance(int from) {
+      int v = from;
+      while (v < mates.length && mates[v] <= v) {
+        v++;
+      }
+      return v;
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Set;
+
+import edu.rit.cs.graph_matching.EdmondsAlgorithm.Initialization;
+
+/**
+ * Shared helpers for building the initial matching of an exact maximum
+ * matching solver. Matchings are represented as an array where matches[v] is
+ * the vertex matched with v, or -1 if v is unmatched.
+ */
+final class MatchingHeuristics {
+  private MatchingHeuristics() {}
+
+  /**
+   * Build an initial matching using one of the {@link Initialization}
+   * heuristics.
+   *
+   * @param graph
+   *   the graph being matched
+   * @param matches
+   *   an empty matching, which is filled in-place
+   * @param initialization
+   *   the heuristic to use
+   */
+  static void initialize(Graph graph, int[] matches, Initialization initialization) {
+    switch (initialization) {
+      case NONE -> {}
+      case GREEDY -> greedy(graph, matches);
+      case KARP_SIPSER -> karpSipser(graph, matches);
+    }
+  }
+
+  /**
+   * Copy an existing matching into the array representation, checking that it
+   * is valid.
+   *
+   * @param graph
+   *   the graph being matched
+   * @param matches
+   *   an empty matching, which is filled in-place
+   * @param initialMatching
+   *   the matching to copy
+   * @throws IllegalArgumentException
+   *   if {@code initialMatching} contains an edge that isn't in the graph, or
+   *   isn't a valid matching
+   */
+  static void seed(Graph graph, int[] matches, Set<Edge> initialMatching) {
+    for (Edge edge : initialMatching) {
+      int v1 = edge.vertex1();
+      int v2 = edge.vertex2();
+      if (!graph.hasEdge(v1, v2)) {
+        throw new IllegalArgumentException("Initial matching contains a nonexistent edge: " + edge);
+      }
+      if (matches[v1] >= 0 || matches[v2] >= 0) {
+        throw new IllegalArgumentException("Initial matching is not a valid matching");
+      }
+      setMatch(matches, v1, v2);
+    }
+  }
+
+  /**
+   * Match every unmatched vertex with its first unmatched neighbor, if any.
+   * This produces a maximal matching.
+   *
+   * @param graph
+   *   the graph being matched
+   * @param matches
+   *   the current matching, which is extended in-place
+   */
+  static void greedy(Graph graph, int[] matches) {
+    for (int v = 0; v < graph.size(); v++) {
+      if (matches[v] < 0) {
+        int neighbor = findUnmatchedNeighbor(graph, matches, v);
+        if (neighbor >= 0) {
+          setMatch(matches, v, neighbor);
+        }
+      }
+    }
+  }
+
+  /**
+   * The Karp-Sipser heuristic. Vertices with exactly one unmatched neighbor
+   * can always be matched with that neighbor without reducing the size of the
+   * maximum matching, so such vertices are matched first. When none remain, an
+   * arbitrary edge is matched greedily. This produces a maximal matching.
+   *
+   * @param graph
+   *   the graph being matched
+   * @param matches
+   *   an empty matching, which is filled in-place
+   */
+  static void karpSipser(Graph graph, int[] matches) {
+    int n = graph.size();
+
+    // degrees[v] = number of unmatched neighbors of unmatched vertex v
+    int[] degrees = new int[n];
+    // Vertices that may have exactly one unmatched neighbor. Degrees only ever
+    // decrease, so each vertex is added at most once.
+    int[] pending = new int[n];
+    int pendingCount = 0;
+
+    for (int v = 0; v < n; v++) {
+      degrees[v] = graph.getDegree(v);
+      if (degrees[v] == 1) {
+        pending[pendingCount++] = v;
+      }
+    }
+
+    int next = 0;
+    while (true) {
+      int v;
+      if (pendingCount > 0) {
+        v = pending[--pendingCount];
+        if (matches[v] >= 0 || degrees[v] != 1) {
+          // stale entry
+          continue;
+        }
+      } else {
+        // No degree-1 vertices remain; pick any vertex that can be matched
+        while (next < n && (matches[next] >= 0 || degrees[next] == 0)) {
+          next++;
+        }
+        if (next == n) {
+          break;
+        }
+        v = next;
+      }
+
+      int neighbor = findUnmatchedNeighbor(graph, matches, v);
+      setMatch(matches, v, neighbor);
+
+      // Both vertices are no longer available to their neighbors
+      pendingCount = removeUnmatchedNeighbor(graph, matches, v, degrees, pending, pendingCount);
+      pendingCount = removeUnmatchedNeighbor(graph, matches, neighbor, degrees, pending, pendingCount);
+    }
+  }
+
+  /**
+   * Helper for {@link #karpSipser(Graph, int[])} that updates the unmatched
+   * degrees of a newly matched vertex's neighbors.
+   *
+   * @param graph
+   *   the graph being matched
+   * @param matches
+   *   the current matching
+   * @param vertex
+   *   the newly matched vertex
+   * @param degrees
+   *   the number of unmatched neighbors of each unmatched vertex
+   * @param pending
+   *   the vertices that may have exactly one unmatched neighbor
+   * @param pendingCount
+   *   the number of valid entries in {@code pending}
+   * @return the new number of valid entries in {@code pending}
+   */
+  private static int removeUnmatchedNeighbor(Graph graph, int[] matches, int vertex,
+                                             int[] degrees, int[] pending, int pendingCount) {
+    int degree = graph.getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int u = graph.getNeighbor(vertex, i);
+      if (matches[u] < 0 && --degrees[u] == 1) {
+        pending[pendingCount++] = u;
+      }
+    }
+    return pendingCount;
+  }
+
+  /**
+   * Find any neighbor of a vertex that is not yet matched.
+   *
+   * @param graph
+   *   the graph being matched
+   * @param matches
+   *   the current matching
+   * @param vertex
+   *   the vertex
+   * @return an unmatched neighbor, or -1 if none exist
+   */
+  private static int findUnmatchedNeighbor(Graph graph, int[] matches, int vertex) {
+    int degree = graph.getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int neighbor = graph.getNeighbor(vertex, i);
+      if (matches[neighbor] < 0) {
+        return neighbor;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds an edge to a matching.
+   *
+   * @param matches
+   *   the matching
+   * @param vertex1
+   *   the first vertex
+   * @param vertex2
+   *   the second vertex
+   */
+  private static void setMatch(int[] matches, int vertex1, int vertex2) {
+    matches[vertex1] = vertex2;
+    matches[vertex2] = vertex1;
+  }
+}
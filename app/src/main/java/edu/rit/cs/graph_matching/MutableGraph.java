@@ -1,5 +1,7 @@
 package edu.rit.cs.graph_matching;
 
+import java.util.Arrays;
+
 /**
  * An undirected graph that can have edges added or removed. The number of
  * vertices cannot be changed.
@@ -25,9 +27,113 @@ public interface MutableGraph extends Graph {
    */
   void removeEdge(int vertex1, int vertex2);
 
+  /**
+   * Adds a batch of edges to this graph, skipping edges that already exist.
+   * Edge i connects {@code vertices1[i]} and {@code vertices2[i]}.
+   * <p>
+   * Every edge is checked before any is added, so an invalid edge leaves this
+   * graph unchanged. The number of neighbors each vertex gains is then
+   * counted, so that each adjacency is sized once with
+   * {@link #ensureDegreeCapacity(int, int)} rather than growing edge by edge.
+   * The counting sorts the endpoints of the batch, so for a batch of b edges
+   * it takes O(b log b) time, independent of the size of this graph.
+   *
+   * @param vertices1
+   *   the first vertex of each edge
+   * @param vertices2
+   *   the second vertex of each edge
+   * @throws IllegalArgumentException
+   *   if the arrays have different lengths
+   * @throws IndexOutOfBoundsException
+   *   if a vertex is outside of this graph
+   * @throws UnsupportedOperationException
+   *   if an edge is a self-loop
+   */
+  default void addEdges(int[] vertices1, int[] vertices2) {
+    if (vertices1.length != vertices2.length) {
+      throw new IllegalArgumentException("Edge arrays must have the same length");
+    }
+
+    int n = size();
+    int[] endpoints = new int[vertices1.length * 2];
+    for (int i = 0; i < vertices1.length; i++) {
+      int u = vertices1[i];
+      int v = vertices2[i];
+      if (u < 0 || u >= n) {
+        throw new IndexOutOfBoundsException(u);
+      }
+      if (v < 0 || v >= n) {
+        throw new IndexOutOfBoundsException(v);
+      }
+      if (u == v) {
+        throw new UnsupportedOperationException("Self-looping edges are not supported");
+      }
+      endpoints[2 * i] = u;
+      endpoints[2 * i + 1] = v;
+    }
+
+    // Each run of equal endpoints is the number of neighbors one vertex gains
+    Arrays.sort(endpoints);
+    for (int start = 0; start < endpoints.length;) {
+      int v = endpoints[start];
+      int end = start + 1;
+      while (end < endpoints.length && endpoints[end] == v) {
+        end++;
+      }
+      ensureDegreeCapacity(v, getDegree(v) + (end - start));
+      start = end;
+    }
+    for (int i = 0; i < vertices1.length; i++) {
+      addEdge(vertices1[i], vertices2[i]);
+    }
+  }
+
+  /**
+   * Hints that a vertex is about to have the given number of neighbors, so
+   * that its adjacency can be allocated once instead of growing edge by edge.
+   * Doesn't change any edges, and never shrinks an adjacency. Does nothing by
+   * default.
+   *
+   * @param vertex
+   *   the vertex
+   * @param degree
+   *   the expected degree of the vertex
+   * @throws IndexOutOfBoundsException
+   *   if the vertex is outside of this graph
+   */
+  default void ensureDegreeCapacity(int vertex, int degree) {
+    if (vertex < 0 || vertex >= size()) {
+      throw new IndexOutOfBoundsException(vertex);
+    }
+  }
+
+  /**
+   * Hints that every vertex is about to have the given number of neighbors,
+   * e.g. before generating a regular graph.
+   *
+   * @param degree
+   *   the expected degree of each vertex
+   * @see #ensureDegreeCapacity(int, int)
+   */
+  default void ensureDegreeCapacity(int degree) {
+    for (int v = 0; v < size(); v++) {
+      ensureDegreeCapacity(v, degree);
+    }
+  }
+
   /**
    * Removes all existing edges from this graph, leaving it with zero edges
    * remaining.
    */
   void clear();
+
+  /**
+   * Creates an immutable, compact copy of this graph's current edges. Later
+   * changes to this graph are not reflected in the copy.
+   *
+   * @return the frozen graph
+   */
+  default Graph freeze() {
+    return new CompressedGraphImpl(this);
+  }
 }
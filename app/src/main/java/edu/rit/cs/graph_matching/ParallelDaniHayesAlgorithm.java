@@ -0,0 +1,307 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs several independently-seeded instances of {@link DaniHayesAlgorithm} in
+ * parallel on the same graph, and keeps the best result. Since the runtime of
+ * a single instance is heavy-tailed, racing several instances substantially
+ * reduces the time needed for one of them to reach a target matching size.
+ * <p>
+ * As soon as any instance reaches the target, all other instances are
+ * interrupted and return the matching they had found so far. The calling
+ * thread may also be interrupted, in which case every instance is interrupted
+ * and the best matching found so far is returned. Like
+ * {@link DaniHayesAlgorithm}, this will not throw an
+ * {@link InterruptedException}, nor will it clear the interruption.
+ * <p>
+ * The graph is shared between all instances without synchronization, so it must
+ * not be modified while the algorithm runs, and any wrapper around it must be
+ * safe for concurrent use (such as {@link GraphStatistics#concurrent(Graph)}).
+ */
+public class ParallelDaniHayesAlgorithm {
+  /** The input graph */
+  private final Graph graph;
+
+  /** The seed of each instance's random number generator */
+  private final long[] seeds;
+
+  /** The maximum number of instances to run at the same time */
+  private final int parallelism;
+
+  /**
+   * Initialize the algorithm with a particular input graph and a fixed set of
+   * seeds, running up to {@code parallelism} instances at once.
+   *
+   * @param graph
+   *   the input graph
+   * @param seeds
+   *   the seed of each instance; one instance is run per seed
+   * @param parallelism
+   *   the maximum number of instances to run at the same time
+   */
+  public ParallelDaniHayesAlgorithm(Graph graph, long[] seeds, int parallelism) {
+    if (seeds.length == 0) {
+      throw new IllegalArgumentException("At least one instance is required");
+    }
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+
+    this.graph = graph;
+    this.seeds = seeds.clone();
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Initialize the algorithm with a particular input graph, running one
+   * instance per available processor. Instance seeds are derived from a single
+   * master seed.
+   *
+   * @param graph
+   *   the input graph
+   * @param seed
+   *   the master seed
+   */
+  public ParallelDaniHayesAlgorithm(Graph graph, long seed) {
+    this(graph, deriveSeeds(seed, Runtime.getRuntime()
+                                         .availableProcessors()),
+        Runtime.getRuntime()
+               .availableProcessors());
+  }
+
+  /**
+   * Derive independent instance seeds from a single master seed.
+   *
+   * @param seed
+   *   the master seed
+   * @param instances
+   *   the number of seeds to derive
+   * @return the derived seeds
+   */
+  public static long[] deriveSeeds(long seed, int instances) {
+    SplittableRandom random = new SplittableRandom(seed);
+    long[] seeds = new long[instances];
+    for (int i = 0; i < instances; i++) {
+      seeds[i] = random.nextLong();
+    }
+    return seeds;
+  }
+
+  /**
+   * Generates a perfect or near-perfect matching on the input graph. This
+   * method is not guaranteed to ever return without being interrupted.
+   *
+   * @return the best matching along with the results of every instance
+   * @see DaniHayesAlgorithm#generatePerfectMatching()
+   */
+  public Result generatePerfectMatching() {
+    return generateMatching(graph.size() / 2);
+  }
+
+  /**
+   * Generates a matching with the specified number of edges. This method is not
+   * guaranteed to ever return without being interrupted.
+   *
+   * @param edgeCount
+   *   the number of edges in the matching in the range [0, n/2]
+   * @return the best matching along with the results of every instance
+   * @see DaniHayesAlgorithm#generateMatching(int)
+   */
+  public Result generateMatching(int edgeCount) {
+    return generateMatching(edgeCount, DaniHayesAlgorithm.Budget.UNLIMITED);
+  }
+
+  /**
+   * Generates a matching with the specified number of edges, stopping each
+   * instance early if it exhausts its budget. The budget applies to every
+   * instance separately.
+   *
+   * @param edgeCount
+   *   the number of edges in the matching in the range [0, n/2]
+   * @param budget
+   *   the resource limits of each instance
+   * @return the best matching along with the results of every instance
+   */
+  public Result generateMatching(int edgeCount, DaniHayesAlgorithm.Budget budget) {
+    if (edgeCount < 0 || edgeCount > graph.size() / 2) {
+      throw new IllegalArgumentException("Expected edgeCount to be in the range [0, n/2]");
+    }
+
+    AtomicBoolean finished = new AtomicBoolean();
+    List<Instance> instances = new ArrayList<>(seeds.length);
+    for (long seed : seeds) {
+      instances.add(new Instance(seed, edgeCount, budget, finished, instances));
+    }
+
+    // close() waits for every instance to return. If this thread is
+    // interrupted, close() interrupts every instance, and restores the
+    // interruption once they have returned.
+    try (ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(seeds.length, parallelism))) {
+      for (Instance instance : instances) {
+        executor.execute(instance);
+      }
+    }
+
+    List<InstanceResult> results = new ArrayList<>(seeds.length);
+    InstanceResult best = null;
+    for (Instance instance : instances) {
+      InstanceResult result = instance.result;
+      if (result == null) {
+        // never started
+        continue;
+      }
+
+      results.add(result);
+      if (best == null
+          || result.matching()
+                   .size() > best.matching()
+                                 .size()
+          || (result.matching()
+                    .size() == best.matching()
+                                   .size()
+              && result.elapsedNanos() < best.elapsedNanos())) {
+        best = result;
+      }
+    }
+
+    return new Result(best, results);
+  }
+
+  /**
+   * The outcome of a single instance.
+   *
+   * @param seed
+   *   the seed of the instance's random number generator
+   * @param matching
+   *   the matching the instance found
+   * @param elapsedNanos
+   *   the wall-clock time spent by the instance, in nanoseconds
+   * @param reachedTarget
+   *   true iff the matching reached the requested size
+   * @param termination
+   *   why the instance stopped
+   * @param steps
+   *   the number of GROW_PATH steps taken by the instance
+   * @param queries
+   *   the number of graph queries made by the instance
+   */
+  public record InstanceResult(long seed,
+                               Matching matching,
+                               long elapsedNanos,
+                               boolean reachedTarget,
+                               DaniHayesAlgorithm.Termination termination,
+                               long steps,
+                               long queries) {}
+
+  /**
+   * The outcome of a parallel run.
+   *
+   * @param best
+   *   the largest matching found by any instance, breaking ties by elapsed
+   *   time
+   * @param instances
+   *   the results of every instance, in seed order. Instances that never
+   *   started because another instance had already reached the target are
+   *   omitted.
+   */
+  public record Result(InstanceResult best,
+                       List<InstanceResult> instances) {
+    /**
+     * @return the best matching found
+     */
+    public Matching matching() {
+      return best.matching();
+    }
+  }
+
+  /**
+   * A single instance of the algorithm, which can be stopped by another thread.
+   */
+  private final class Instance implements Runnable {
+    /** The seed of this instance's random number generator */
+    private final long seed;
+
+    /** The target matching size */
+    private final int edgeCount;
+
+    /** The resource limits of this instance */
+    private final DaniHayesAlgorithm.Budget budget;
+
+    /** Set once any instance reaches the target */
+    private final AtomicBoolean finished;
+
+    /** Every instance in this run, including this one */
+    private final List<Instance> instances;
+
+    /** The thread currently running this instance, or null if not running */
+    private Thread runner;
+
+    /** The result of this instance, or null if it never ran */
+    private volatile InstanceResult result;
+
+    Instance(long seed,
+             int edgeCount,
+             DaniHayesAlgorithm.Budget budget,
+             AtomicBoolean finished,
+             List<Instance> instances) {
+      this.seed = seed;
+      this.edgeCount = edgeCount;
+      this.budget = budget;
+      this.finished = finished;
+      this.instances = instances;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (finished.get()) {
+          return;
+        }
+        runner = Thread.currentThread();
+      }
+
+      try {
+        long start = System.nanoTime();
+        DaniHayesAlgorithm algorithm = new DaniHayesAlgorithm(graph, new Random(seed));
+        DaniHayesAlgorithm.Result run = algorithm.generateMatching(edgeCount, budget);
+        long elapsed = System.nanoTime() - start;
+
+        boolean reachedTarget = run.termination() == DaniHayesAlgorithm.Termination.TARGET_REACHED;
+        result = new InstanceResult(seed, run.matching(), elapsed, reachedTarget, run.termination(),
+            run.steps(), run.queries());
+
+        if (reachedTarget && finished.compareAndSet(false, true)) {
+          for (Instance instance : instances) {
+            if (instance != this) {
+              instance.stop();
+            }
+          }
+        }
+      } finally {
+        synchronized (this) {
+          runner = null;
+        }
+        // Don't leak a stop request into the next task on this pool thread
+        Thread.interrupted();
+      }
+    }
+
+    /**
+     * Interrupt this instance if it is running, causing it to return its
+     * current matching.
+     */
+    synchronized void stop() {
+      if (runner != null) {
+        runner.interrupt();
+      }
+    }
+  }
+}
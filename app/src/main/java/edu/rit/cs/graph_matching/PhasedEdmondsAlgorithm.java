@@ -0,0 +1,548 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import edu.rit.cs.graph_matching.EdmondsAlgorithm.Initialization;
+
+/**
+ * A heuristic phase-based speedup of Edmonds' Blossom Algorithm for maximum
+ * matching in a general undirected graph.
+ * <p>
+ * {@link EdmondsAlgorithm} grows one alternating tree at a time and stops at
+ * the first augmenting path it finds. This solver instead grows an alternating
+ * forest from every unmatched vertex simultaneously. Whenever two trees meet
+ * at an edge between even vertices, the path through both trees is augmented
+ * and both trees are retired for the remainder of the phase, while the other
+ * trees continue to grow. Each phase therefore augments along a maximal set of
+ * vertex-disjoint augmenting paths, and the algorithm terminates after the
+ * first phase that finds none.
+ * <p>
+ * Each phase only resets and scans the vertices it reached, so its cost is
+ * proportional to the part of the graph it touches rather than to the size of
+ * the graph. In practice this needs far fewer phases than there are
+ * augmentations, but this is not an implementation of Micali-Vazirani or
+ * Gabow: the paths found in each phase aren't guaranteed to be shortest, so
+ * the number of phases isn't bounded by O(sqrt V), and the worst case is no
+ * better than {@link EdmondsAlgorithm}.
+ */
+public class PhasedEdmondsAlgorithm {
+  /** The input graph */
+  private final Graph graph;
+
+  /** The heuristic used to build the initial matching */
+  private final Initialization initialization;
+
+  /**
+   * matches[v] = vertex matched with vertex v, or -1 if unmatched
+   */
+  private final int[] matches;
+
+  /**
+   * parents[v] = parent of vertex v in the alternating forest
+   */
+  private final int[] parents;
+
+  /**
+   * bases[v] = base of the blossom containing vertex v
+   */
+  private final int[] bases;
+
+  /**
+   * trees[v] = the root of the alternating tree containing vertex v, or -1 if
+   * v hasn't been reached during the current phase
+   */
+  private final int[] trees;
+
+  /**
+   * retired[r] is true iff the tree with root r has been augmented during the
+   * current phase, and can no longer be used
+   */
+  private final boolean[] retired;
+
+  /**
+   * Links the vertices of each blossom into a circular list: the members of
+   * the blossom with base b are b, blossomNext[b], blossomNext[blossomNext[b]],
+   * and so on until the list returns to b.
+   */
+  private final int[] blossomNext;
+
+  /**
+   * The distinct blossom bases marked during the current contraction, in the
+   * range [0, blossomBaseCount).
+   */
+  private final int[] blossomBases;
+
+  /**
+   * The BFS queue. Every vertex is enqueued at most once per phase, so the
+   * queue never needs to wrap around.
+   */
+  private final int[] queue;
+
+  /**
+   * If enqueued[v] == phaseId, then vertex v has been added to {@link #queue}
+   * during the current phase.
+   */
+  private final int[] enqueued;
+
+  /**
+   * If marks[v] == markId, then vertex v has been marked by the current
+   * ancestor walk or blossom contraction.
+   */
+  private final int[] marks;
+
+  /**
+   * The unmatched vertices with at least one neighbor, in the range
+   * [0, rootCount). These are the roots of the next phase's forest.
+   */
+  private final int[] roots;
+
+  /**
+   * The vertices added to the alternating forest during the current phase, in
+   * the range [0, reachedCount). Only these need to be reset between phases.
+   */
+  private final int[] reached;
+
+  /** The number of valid entries in {@link #roots} */
+  private int rootCount;
+
+  /** The number of valid entries in {@link #reached} */
+  private int reachedCount;
+
+  /** The number of valid entries in {@link #blossomBases} */
+  private int blossomBaseCount;
+
+  /** The index of the next vertex to dequeue from {@link #queue} */
+  private int queueHead;
+
+  /** The index one past the last vertex in {@link #queue} */
+  private int queueTail;
+
+  /** The id of the current phase */
+  private int phaseId;
+
+  /** The id of the current set of marks in {@link #marks} */
+  private int markId;
+
+  /**
+   * Create a phased blossom matching solver for the given graph, warm-started
+   * with {@link Initialization#KARP_SIPSER}.
+   *
+   * @param graph
+   *   the graph to be solved
+   */
+  public PhasedEdmondsAlgorithm(Graph graph) {
+    this(graph, Initialization.KARP_SIPSER);
+  }
+
+  /**
+   * Create a phased blossom matching solver for the given graph.
+   *
+   * @param graph
+   *   the graph to be solved
+   * @param initialization
+   *   the heuristic used to build the initial matching
+   */
+  public PhasedEdmondsAlgorithm(Graph graph, Initialization initialization) {
+    this.graph = graph;
+    this.initialization = initialization;
+
+    this.matches = new int[graph.size()];
+    this.parents = new int[graph.size()];
+    this.bases = new int[graph.size()];
+    this.trees = new int[graph.size()];
+    this.retired = new boolean[graph.size()];
+    this.blossomNext = new int[graph.size()];
+    this.blossomBases = new int[graph.size()];
+    this.queue = new int[graph.size()];
+    this.enqueued = new int[graph.size()];
+    this.marks = new int[graph.size()];
+    this.roots = new int[graph.size()];
+    this.reached = new int[graph.size()];
+  }
+
+  /**
+   * Compute the maximum matching on the input graph, starting from the
+   * matching produced by this solver's {@link Initialization}.
+   *
+   * @return the edges in the maximum matching
+   */
+  public Matching computeMaximumMatching() {
+    // Initially, all vertices are unmatched
+    Arrays.fill(matches, -1);
+
+    MatchingHeuristics.initialize(graph, matches, initialization);
+
+    return augmentToMaximum();
+  }
+
+  /**
+   * Compute the maximum matching on the input graph, starting from an existing
+   * matching, such as one generated by {@link DaniHayesAlgorithm}. This
+   * solver's {@link Initialization} is ignored.
+   *
+   * @param initialMatching
+   *   a valid matching on the input graph
+   * @return the edges in the maximum matching
+   * @throws IllegalArgumentException
+   *   if {@code initialMatching} contains an edge that isn't in the graph, or
+   *   isn't a valid matching
+   */
+  public Matching computeMaximumMatching(Set<Edge> initialMatching) {
+    // Initially, all vertices are unmatched
+    Arrays.fill(matches, -1);
+
+    MatchingHeuristics.seed(graph, matches, initialMatching);
+
+    return augmentToMaximum();
+  }
+
+  /**
+   * Run phases until the current matching is maximum.
+   *
+   * @return the edges in the maximum matching
+   */
+  private Matching augmentToMaximum() {
+    // Initially, the forest is empty and each vertex is its own blossom base
+    Arrays.fill(parents, -1);
+    Arrays.fill(trees, -1);
+    Arrays.fill(retired, false);
+    for (int v = 0; v < graph.size(); v++) {
+      bases[v] = v;
+      blossomNext[v] = v;
+    }
+    Arrays.fill(enqueued, 0);
+    phaseId = 0;
+    reachedCount = 0;
+
+    rootCount = 0;
+    for (int v = 0; v < graph.size(); v++) {
+      if (matches[v] < 0 && graph.getDegree(v) > 0) {
+        roots[rootCount++] = v;
+      }
+    }
+
+    // Every phase but the last increases the matching size, so there are at
+    // most n/2 + 1 phases and phase ids can't overflow
+    while (runPhase() > 0) {
+      // keep augmenting
+    }
+
+    return new Matching(matches.clone());
+  }
+
+  /**
+   * Grow an alternating forest from every unmatched vertex, augmenting along
+   * vertex-disjoint augmenting paths as they are found.
+   *
+   * @return the number of augmentations performed during this phase
+   */
+  private int runPhase() {
+    phaseId++;
+    queueHead = 0;
+    queueTail = 0;
+
+    // Every unmatched vertex is the root of its own tree
+    for (int i = 0; i < rootCount; i++) {
+      int root = roots[i];
+      reach(root, root);
+      enqueue(root);
+    }
+
+    int augmentations = 0;
+    while (queueHead < queueTail) {
+      int vertex = queue[queueHead++];
+      int tree = trees[vertex];
+
+      int degree = graph.getDegree(vertex);
+      for (int index = 0; index < degree && !retired[tree]; index++) {
+        int neighbor = graph.getNeighbor(vertex, index);
+        int neighborTree = trees[neighbor];
+
+        // Ignore retired trees, self-loops inside a blossom, or matched edges
+        if ((neighborTree >= 0 && retired[neighborTree])
+            || bases[vertex] == bases[neighbor]
+            || matches[vertex] == neighbor) {
+          continue;
+        }
+
+        if (isEven(neighbor)) {
+          if (neighborTree == tree) {
+            // Case 1: Found a blossom (odd cycle)
+
+            int commonAncestor = findLeastCommonAncestor(vertex, neighbor);
+
+            clearMarks();
+            blossomBaseCount = 0;
+            markBlossomPath(vertex, commonAncestor, neighbor);
+            markBlossomPath(neighbor, commonAncestor, vertex);
+
+            contractBlossom(commonAncestor);
+          } else {
+            // Case 2: Found an augmenting path between two trees
+
+            augmentMatching(vertex, neighbor);
+            retired[tree] = true;
+            retired[neighborTree] = true;
+            augmentations++;
+          }
+        } else if (neighborTree < 0) {
+          // Case 3: Extend alternating tree. Every unmatched vertex is a root,
+          // so unreached vertices are always matched.
+
+          parents[neighbor] = vertex;
+          reach(neighbor, tree);
+
+          // Continue BFS from the matched partner
+          int matchedNeighbor = matches[neighbor];
+          reach(matchedNeighbor, tree);
+          if (enqueued[matchedNeighbor] != phaseId) {
+            enqueue(matchedNeighbor);
+          }
+        }
+      }
+    }
+
+    resetForest();
+    return augmentations;
+  }
+
+  /**
+   * Adds a vertex to an alternating tree, and records it so that it can be
+   * reset at the end of the phase.
+   *
+   * @param vertex
+   *   a vertex that hasn't been reached during the current phase
+   * @param tree
+   *   the root of the tree the vertex joins
+   */
+  private void reach(int vertex, int tree) {
+    trees[vertex] = tree;
+    reached[reachedCount++] = vertex;
+  }
+
+  /**
+   * Undo every change the current phase made to the forest, and drop the roots
+   * that were matched by an augmentation. Only the vertices in
+   * {@link #reached} are visited.
+   */
+  private void resetForest() {
+    for (int i = 0; i < reachedCount; i++) {
+      int v = reached[i];
+      parents[v] = -1;
+      trees[v] = -1;
+      retired[v] = false;
+      bases[v] = v;
+      blossomNext[v] = v;
+    }
+    reachedCount = 0;
+
+    int remaining = 0;
+    for (int i = 0; i < rootCount; i++) {
+      int root = roots[i];
+      if (matches[root] < 0) {
+        roots[remaining++] = root;
+      }
+    }
+    rootCount = remaining;
+  }
+
+  /**
+   * Checks whether a vertex is an even (outer) vertex of the alternating
+   * forest: either a root, or a vertex whose match has a parent.
+   *
+   * @param vertex
+   *   the vertex
+   * @return true iff the vertex is even
+   */
+  private boolean isEven(int vertex) {
+    if (trees[vertex] < 0) {
+      return false;
+    }
+    int match = matches[vertex];
+    return match < 0 || parents[match] >= 0;
+  }
+
+  /**
+   * Invalidates all previous entries in {@link #marks}.
+   */
+  private void clearMarks() {
+    markId++;
+    if (markId == Integer.MAX_VALUE) {
+      // Ids are about to wrap around; stale marks could become valid again
+      Arrays.fill(marks, 0);
+      markId = 1;
+    }
+  }
+
+  /**
+   * Compute the least common ancestor of two vertices in the same alternating
+   * tree. This identifies the base of a newly found blossom.
+   *
+   * @param vertex1
+   *   the first vertex
+   * @param vertex2
+   *   the second vertex
+   */
+  private int findLeastCommonAncestor(int vertex1, int vertex2) {
+    clearMarks();
+
+    // Walk upward from a to find all of a's alternating ancestors
+    int a = vertex1;
+    while (true) {
+      // Mark base of current vertex as an ancestor
+      int base1 = bases[a];
+      marks[base1] = markId;
+
+      // If unmatched, then we reached the root
+      int match = matches[base1];
+      if (match < 0) {
+        break;
+      }
+
+      // Continue walking up the alternating tree
+      a = parents[match];
+    }
+
+    // Walk upward from b until an ancestor of a is found
+    int b = vertex2;
+    while (true) {
+      int base2 = bases[b];
+      if (marks[base2] == markId) {
+        // found a common ancestor
+        return base2;
+      } else {
+        // both vertices share a root, so a match exists here
+        b = parents[matches[base2]];
+      }
+    }
+  }
+
+  /**
+   * Mark all vertices on the path from vertex v to a blossom base as belonging
+   * to the blossom in {@link #marks} and {@link #blossomBases}, and fix parent
+   * pointers during contraction.
+   *
+   * @param vertex
+   *   the source vertex
+   * @param base
+   *   the blossom base
+   * @param parent
+   *   the new parent of the vertex
+   */
+  private void markBlossomPath(int vertex, int base, int parent) {
+    // Walk upward from v until we find the base
+    int v = vertex;
+    int p = parent;
+    while (bases[v] != base) {
+      int matchOfV = matches[v];
+
+      // Add v's base and its match's base to the blossom
+      markBlossomBase(bases[v]);
+      markBlossomBase(bases[matchOfV]);
+
+      // Fix parent pointers
+      parents[v] = p;
+      p = matchOfV;
+      v = parents[matchOfV];
+    }
+  }
+
+  /**
+   * Records that a blossom base belongs to the blossom currently being
+   * contracted, if it hasn't already been recorded.
+   *
+   * @param base
+   *   the base of a blossom (or a lone vertex) inside the new blossom
+   */
+  private void markBlossomBase(int base) {
+    if (marks[base] != markId) {
+      marks[base] = markId;
+      blossomBases[blossomBaseCount++] = base;
+    }
+  }
+
+  /**
+   * Contract every blossom recorded in {@link #blossomBases} into a single
+   * blossom with a new base. Only the members of those blossoms are visited.
+   *
+   * @param newBase
+   *   the base of the contracted blossom
+   */
+  private void contractBlossom(int newBase) {
+    for (int i = 0; i < blossomBaseCount; i++) {
+      int base = blossomBases[i];
+      if (base == newBase) {
+        // members of newBase's blossom are already correct
+        continue;
+      }
+
+      int member = base;
+      do {
+        bases[member] = newBase;
+        if (enqueued[member] != phaseId) {
+          enqueue(member);
+        }
+        member = blossomNext[member];
+      } while (member != base);
+
+      // Splice the two circular lists together
+      int next = blossomNext[base];
+      blossomNext[base] = blossomNext[newBase];
+      blossomNext[newBase] = next;
+    }
+  }
+
+  /**
+   * Add a vertex to the end of the BFS queue for the current phase.
+   *
+   * @param vertex
+   *   the vertex to enqueue
+   */
+  private void enqueue(int vertex) {
+    enqueued[vertex] = phaseId;
+    queue[queueTail++] = vertex;
+  }
+
+  /**
+   * Augment along the path formed by an edge between even vertices of two
+   * different trees, and the paths from each vertex to its tree's root.
+   *
+   * @param vertex1
+   *   an even vertex in one tree
+   * @param vertex2
+   *   an even vertex in the other tree
+   */
+  private void augmentMatching(int vertex1, int vertex2) {
+    int match1 = matches[vertex1];
+    int match2 = matches[vertex2];
+
+    flipToRoot(match1);
+    flipToRoot(match2);
+
+    matches[vertex1] = vertex2;
+    matches[vertex2] = vertex1;
+  }
+
+  /**
+   * Flip matching edges along the path from a vertex up to the root of its
+   * tree. Afterwards, the vertex's former match is left dangling, and must be
+   * re-matched by the caller.
+   *
+   * @param start
+   *   the former match of the vertex being re-matched, or -1 if it was a root
+   */
+  private void flipToRoot(int start) {
+    int current = start;
+
+    while (current >= 0) {
+      int previous = parents[current];
+      int next = matches[previous];
+
+      matches[current] = previous;
+      matches[previous] = current;
+
+      current = next;
+    }
+  }
+}
@@ -1,8 +1,12 @@
 package edu.rit.cs.graph_matching;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.function.IntConsumer;
 import java.util.random.RandomGenerator;
 
 /**
@@ -11,14 +15,47 @@ import java.util.random.RandomGenerator;
  * <li>{@link #getRandomNeighbor(int)} runs in O(1) time</li>
  * <li>{@link #getAllNeighbors(int)} runs in O(1) time</li>
  * <li>{@link #hasEdge(int, int)} runs in O(1) time</li>
+ * <li>{@link #getNeighbor(int, int)} runs in O(1) time</li>
  * </ul>
+ * <p>
+ * The neighbors of a vertex of degree at most {@link #SMALL_DEGREE} are kept
+ * in a plain, unsorted int array, where a linear scan over a cache line or two
+ * beats hashing. Only vertices whose degree grows past that are promoted to an
+ * {@link IntHashSet}, so sparse graphs need a single small array per vertex.
  */
 public class SparseGraphImpl implements MutableGraph {
   /**
-   * The backing adjacency list. Uses IntHashSet for amortized O(1) lookup with
-   * a small memory footprint.
+   * The largest degree of a vertex whose neighbors are stored in an array.
+   * Adding a neighbor beyond this promotes the vertex to an IntHashSet.
    */
-  private final List<IntHashSet> adjacencyList;
+  static final int SMALL_DEGREE = 16;
+
+  /**
+   * The degree at which a promoted vertex is moved back to an array. Lower
+   * than {@link #SMALL_DEGREE} so that adding and removing a single edge
+   * around the threshold doesn't convert back and forth.
+   */
+  static final int DEMOTE_DEGREE = SMALL_DEGREE / 2;
+
+  /** The initial capacity of a vertex's neighbor array */
+  private static final int INITIAL_CAPACITY = 4;
+
+  /** The number of neighbors of each vertex */
+  private final int[] degrees;
+
+  /**
+   * The neighbors of each vertex in [0, degree), for vertices that haven't been
+   * promoted. Null for promoted vertices, and for vertices that never had a
+   * neighbor.
+   */
+  private final int[][] smallNeighbors;
+
+  /**
+   * The neighbors of each promoted vertex, or null for vertices whose
+   * neighbors are in {@link #smallNeighbors}. Uses IntHashSet for amortized
+   * O(1) lookup with a small memory footprint.
+   */
+  private final IntHashSet[] largeNeighbors;
 
   /**
    * Construct a sparse graph with no edges.
@@ -31,10 +68,9 @@ public class SparseGraphImpl implements MutableGraph {
       throw new IllegalArgumentException("Graphs require a positive number of vertices");
     }
 
-    this.adjacencyList = new ArrayList<>(vertices);
-    for (int i = 0; i < vertices; i++) {
-      adjacencyList.add(new IntHashSet());
-    }
+    this.degrees = new int[vertices];
+    this.smallNeighbors = new int[vertices][];
+    this.largeNeighbors = new IntHashSet[vertices];
   }
 
   @Override
@@ -43,10 +79,80 @@ public class SparseGraphImpl implements MutableGraph {
     checkVertexIndex(vertex2);
     checkVerticesNotEqual(vertex1, vertex2);
 
-    adjacencyList.get(vertex1)
-                 .add(vertex2);
-    adjacencyList.get(vertex2)
-                 .add(vertex1);
+    if (addNeighbor(vertex1, vertex2)) {
+      addNeighbor(vertex2, vertex1);
+    }
+  }
+
+  /**
+   * Add a neighbor to one vertex, promoting it if its array is full.
+   *
+   * @return true if the neighbor was added, or false if it was already present
+   */
+  private boolean addNeighbor(int vertex, int neighbor) {
+    IntHashSet large = largeNeighbors[vertex];
+    if (large != null) {
+      if (!large.add(neighbor)) {
+        return false;
+      }
+      degrees[vertex]++;
+      return true;
+    }
+
+    int degree = degrees[vertex];
+    int[] small = smallNeighbors[vertex];
+    if (indexOf(small, degree, neighbor) >= 0) {
+      return false;
+    }
+
+    if (degree == SMALL_DEGREE) {
+      large = new IntHashSet(SMALL_DEGREE * 2);
+      for (int i = 0; i < degree; i++) {
+        large.add(small[i]);
+      }
+      large.add(neighbor);
+      largeNeighbors[vertex] = large;
+      smallNeighbors[vertex] = null;
+    } else {
+      if (small == null) {
+        small = smallNeighbors[vertex] = new int[INITIAL_CAPACITY];
+      } else if (degree == small.length) {
+        small = smallNeighbors[vertex] = Arrays.copyOf(small,
+            Math.min(Math.max(degree * 2, INITIAL_CAPACITY), SMALL_DEGREE));
+      }
+      small[degree] = neighbor;
+    }
+    degrees[vertex] = degree + 1;
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * A vertex expected to have more than {@link #SMALL_DEGREE} neighbors is
+   * promoted right away, to a set sized for its final degree.
+   */
+  @Override
+  public void ensureDegreeCapacity(int vertex, int degree) {
+    checkVertexIndex(vertex);
+
+    IntHashSet large = largeNeighbors[vertex];
+    if (large != null) {
+      large.ensureCapacity(degree);
+    } else if (degree > SMALL_DEGREE) {
+      large = new IntHashSet(degree);
+      int[] small = smallNeighbors[vertex];
+      for (int i = 0; i < degrees[vertex]; i++) {
+        large.add(small[i]);
+      }
+      largeNeighbors[vertex] = large;
+      smallNeighbors[vertex] = null;
+    } else {
+      int[] small = smallNeighbors[vertex];
+      if (small == null ? degree > 0 : small.length < degree) {
+        smallNeighbors[vertex] = small == null ? new int[degree] : Arrays.copyOf(small, degree);
+      }
+    }
   }
 
   @Override
@@ -55,23 +161,75 @@ public class SparseGraphImpl implements MutableGraph {
     checkVertexIndex(vertex2);
     checkVerticesNotEqual(vertex1, vertex2);
 
-    adjacencyList.get(vertex1)
-                 .remove(vertex2);
-    adjacencyList.get(vertex2)
-                 .remove(vertex1);
+    if (removeNeighbor(vertex1, vertex2)) {
+      removeNeighbor(vertex2, vertex1);
+    }
+  }
+
+  /**
+   * Remove a neighbor from one vertex, demoting it if its degree gets low
+   * enough.
+   *
+   * @return true if the neighbor was removed, or false if it wasn't present
+   */
+  private boolean removeNeighbor(int vertex, int neighbor) {
+    IntHashSet large = largeNeighbors[vertex];
+    if (large != null) {
+      if (!large.remove(neighbor)) {
+        return false;
+      }
+      int degree = --degrees[vertex];
+      if (degree <= DEMOTE_DEGREE) {
+        int[] small = new int[SMALL_DEGREE];
+        for (int i = 0; i < degree; i++) {
+          small[i] = large.get(i);
+        }
+        smallNeighbors[vertex] = small;
+        largeNeighbors[vertex] = null;
+      }
+      return true;
+    }
+
+    int degree = degrees[vertex];
+    int[] small = smallNeighbors[vertex];
+    int index = indexOf(small, degree, neighbor);
+    if (index < 0) {
+      return false;
+    }
+    // Order doesn't matter, so fill the gap with the last neighbor
+    small[index] = small[degree - 1];
+    degrees[vertex] = degree - 1;
+    return true;
+  }
+
+  /**
+   * @param small
+   *   a vertex's neighbor array, or null
+   * @param degree
+   *   the vertex's degree
+   * @param neighbor
+   *   the neighbor to find
+   * @return the index of the neighbor in the array, or -1 if it isn't present
+   */
+  private static int indexOf(int[] small, int degree, int neighbor) {
+    for (int i = 0; i < degree; i++) {
+      if (small[i] == neighbor) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   @Override
   public int size() {
-    return adjacencyList.size();
+    return degrees.length;
   }
 
   @Override
   public int getDegree(int vertex) {
     checkVertexIndex(vertex);
 
-    return adjacencyList.get(vertex)
-                        .size();
+    return degrees[vertex];
   }
 
   @Override
@@ -79,32 +237,98 @@ public class SparseGraphImpl implements MutableGraph {
     checkVertexIndex(vertex1);
     checkVertexIndex(vertex2);
 
-    return adjacencyList.get(vertex1)
-                        .contains(vertex2);
+    return containsNeighbor(vertex1, vertex2);
+  }
+
+  private boolean containsNeighbor(int vertex, int neighbor) {
+    IntHashSet large = largeNeighbors[vertex];
+    return large != null ? large.contains(neighbor)
+        : indexOf(smallNeighbors[vertex], degrees[vertex], neighbor) >= 0;
   }
 
   @Override
   public int getRandomNeighbor(int vertex, RandomGenerator random) {
     checkVertexIndex(vertex);
 
-    IntHashSet neighbors = adjacencyList.get(vertex);
-    return neighbors.isEmpty() ? -1 : neighbors.getRandom(random);
+    int degree = degrees[vertex];
+    if (degree == 0) {
+      return -1;
+    }
+    IntHashSet large = largeNeighbors[vertex];
+    return large != null ? large.getRandom(random)
+        : smallNeighbors[vertex][random.nextInt(degree)];
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The set is an unmodifiable view, so later changes to this graph are
+   * reflected in it.
+   */
   @Override
   public Set<Integer> getAllNeighbors(int vertex) {
     checkVertexIndex(vertex);
 
-    return adjacencyList.get(vertex);
+    return new NeighborSet(vertex);
   }
 
+  @Override
+  public int getNeighbor(int vertex, int index) {
+    checkVertexIndex(vertex);
+
+    Objects.checkIndex(index, degrees[vertex]);
+    return neighborAt(vertex, index);
+  }
+
+  private int neighborAt(int vertex, int index) {
+    IntHashSet large = largeNeighbors[vertex];
+    return large != null ? large.get(index) : smallNeighbors[vertex][index];
+  }
+
+  @Override
+  public void forEachNeighbor(int vertex, IntConsumer action) {
+    checkVertexIndex(vertex);
+
+    IntHashSet large = largeNeighbors[vertex];
+    int degree = degrees[vertex];
+    if (large != null) {
+      for (int i = 0; i < degree; i++) {
+        action.accept(large.get(i));
+      }
+    } else {
+      int[] small = smallNeighbors[vertex];
+      for (int i = 0; i < degree; i++) {
+        action.accept(small[i]);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Every vertex is moved back to array storage; arrays that are already
+   * allocated are kept for reuse.
+   */
   @Override
   public void clear() {
-    for (IntHashSet adjacents : adjacencyList) {
-      adjacents.clear();
+    Arrays.fill(degrees, 0);
+    for (int v = 0; v < largeNeighbors.length; v++) {
+      if (largeNeighbors[v] != null) {
+        largeNeighbors[v] = null;
+        smallNeighbors[v] = new int[SMALL_DEGREE];
+      }
     }
   }
 
+  /**
+   * @param vertex
+   *   a vertex
+   * @return whether the vertex's neighbors are stored in an IntHashSet
+   */
+  boolean isPromoted(int vertex) {
+    return largeNeighbors[vertex] != null;
+  }
+
   protected final void checkVertexIndex(int vertex) {
     if (vertex < 0 || vertex >= size()) {
       throw new IndexOutOfBoundsException(vertex);
@@ -116,4 +340,45 @@ public class SparseGraphImpl implements MutableGraph {
       throw new UnsupportedOperationException("Self-looping edges are not supported");
     }
   }
+
+  /**
+   * An unmodifiable view of a single vertex's neighbors.
+   */
+  private final class NeighborSet extends AbstractSet<Integer> {
+    private final int vertex;
+
+    NeighborSet(int vertex) {
+      this.vertex = vertex;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer i && containsNeighbor(vertex, i);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+      return new PrimitiveIterator.OfInt() {
+        int pos = 0;
+
+        @Override
+        public boolean hasNext() {
+          return pos < degrees[vertex];
+        }
+
+        @Override
+        public int nextInt() {
+          if (pos >= degrees[vertex]) {
+            throw new NoSuchElementException();
+          }
+          return neighborAt(vertex, pos++);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return degrees[vertex];
+    }
+  }
 }
@@ -0,0 +1,365 @@
+package edu.rit.cs.graph_matching;
+
+import java.util.Arrays;
+
+/**
+ * A permutation of a graph's vertices that improves memory locality. Graphs
+ * such as those from {@link GraphGenerator#mutateRegularGraph} connect
+ * vertices with unrelated ids, so walking the graph touches the adjacency
+ * lists and per-vertex state arrays of the algorithms at random, and nearly
+ * every step is a cache miss. Relabeling the vertices so that neighbors get
+ * nearby ids keeps consecutive steps within the same cache lines and pages.
+ * <p>
+ * Typical use is to {@link #compute} an ordering, run an algorithm on the
+ * {@link #relabel relabeled} graph, and map its matching back to the original
+ * ids with {@link #toOriginal(Matching)}.
+ */
+public final class VertexOrdering {
+  /** The original id of each relabeled vertex */
+  private final int[] order;
+
+  /** The relabeled id of each original vertex */
+  private final int[] ranks;
+
+  /**
+   * @param order
+   *   the original id of each relabeled vertex, which must be a permutation
+   */
+  private VertexOrdering(int[] order) {
+    this.order = order;
+    this.ranks = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      ranks[order[i]] = i;
+    }
+  }
+
+  /**
+   * Create an ordering from an explicit permutation.
+   *
+   * @param order
+   *   the original id of each relabeled vertex, so that vertex {@code order[i]}
+   *   is relabeled as {@code i}
+   * @return the ordering
+   * @throws IllegalArgumentException
+   *   if {@code order} is not a permutation of [0, n)
+   */
+  public static VertexOrdering of(int[] order) {
+    boolean[] seen = new boolean[order.length];
+    for (int v : order) {
+      if (v < 0 || v >= order.length || seen[v]) {
+        throw new IllegalArgumentException("Order is not a permutation at vertex " + v);
+      }
+      seen[v] = true;
+    }
+    return new VertexOrdering(order.clone());
+  }
+
+  /**
+   * Compute a locality-improving ordering of a graph's vertices.
+   *
+   * @param graph
+   *   the graph
+   * @param strategy
+   *   how to order the vertices
+   * @return the ordering
+   */
+  public static VertexOrdering compute(Graph graph, Strategy strategy) {
+    return new VertexOrdering(switch (strategy) {
+      case BFS -> breadthFirstOrder(graph, false);
+      case REVERSE_CUTHILL_MCKEE -> reverse(breadthFirstOrder(graph, true));
+      case DEGREE -> degreeOrder(graph, true);
+    });
+  }
+
+  /**
+   * Order vertices by a breadth-first search of each connected component.
+   *
+   * @param graph
+   *   the graph
+   * @param cuthillMcKee
+   *   if false, each component is searched from its lowest id, and neighbors
+   *   are visited in index order; if true, each component is searched from a
+   *   vertex of minimum degree, and neighbors are visited in ascending order
+   *   of degree
+   * @return the order in which vertices were visited
+   */
+  private static int[] breadthFirstOrder(Graph graph, boolean cuthillMcKee) {
+    int n = graph.size();
+    int[] starts = cuthillMcKee ? degreeOrder(graph, false) : null;
+    boolean[] visited = new boolean[n];
+    // The queue is the order itself: vertices are appended as they're found
+    int[] order = new int[n];
+    int tail = 0;
+    long[] scratch = new long[32];
+
+    for (int s = 0; s < n; s++) {
+      int source = starts == null ? s : starts[s];
+      if (visited[source]) {
+        continue;
+      }
+      visited[source] = true;
+      order[tail++] = source;
+
+      for (int head = tail - 1; head < tail; head++) {
+        int v = order[head];
+        int degree = graph.getDegree(v);
+        int first = tail;
+        for (int i = 0; i < degree; i++) {
+          int u = graph.getNeighbor(v, i);
+          if (!visited[u]) {
+            visited[u] = true;
+            order[tail++] = u;
+          }
+        }
+
+        if (cuthillMcKee && tail - first > 1) {
+          scratch = sortByDegree(graph, order, first, tail, scratch);
+        }
+      }
+    }
+    return order;
+  }
+
+  /**
+   * Stable sort a range of vertices in ascending order of degree.
+   *
+   * @param graph
+   *   the graph
+   * @param vertices
+   *   the array holding the range
+   * @param from
+   *   the first index, inclusive
+   * @param to
+   *   the last index, exclusive
+   * @param scratch
+   *   a reusable buffer
+   * @return the buffer, which is replaced if it was too small
+   */
+  private static long[] sortByDegree(Graph graph, int[] vertices, int from, int to,
+                                     long[] scratch) {
+    int length = to - from;
+    if (scratch.length < length * 2) {
+      scratch = new long[Math.max(length * 2, scratch.length * 2)];
+    }
+
+    // Sort (degree, position) pairs, so ties keep their visiting order
+    for (int i = 0; i < length; i++) {
+      scratch[i] = (long) graph.getDegree(vertices[from + i]) << 32 | i;
+      scratch[length + i] = vertices[from + i];
+    }
+    Arrays.sort(scratch, 0, length);
+    for (int i = 0; i < length; i++) {
+      vertices[from + i] = (int) scratch[length + (int) scratch[i]];
+    }
+    return scratch;
+  }
+
+  /**
+   * Order vertices by degree with a counting sort, breaking ties by id.
+   *
+   * @param graph
+   *   the graph
+   * @param descending
+   *   whether higher degrees come first
+   * @return the vertices in order
+   */
+  private static int[] degreeOrder(Graph graph, boolean descending) {
+    int n = graph.size();
+    int maxDegree = 0;
+    for (int v = 0; v < n; v++) {
+      maxDegree = Math.max(maxDegree, graph.getDegree(v));
+    }
+
+    int[] starts = new int[maxDegree + 2];
+    for (int v = 0; v < n; v++) {
+      int degree = graph.getDegree(v);
+      starts[(descending ? maxDegree - degree : degree) + 1]++;
+    }
+    for (int i = 1; i < starts.length; i++) {
+      starts[i] += starts[i - 1];
+    }
+
+    int[] order = new int[n];
+    for (int v = 0; v < n; v++) {
+      int degree = graph.getDegree(v);
+      order[starts[descending ? maxDegree - degree : degree]++] = v;
+    }
+    return order;
+  }
+
+  /**
+   * @param array
+   *   an array
+   * @return the same array, reversed in place
+   */
+  private static int[] reverse(int[] array) {
+    for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+      int tmp = array[i];
+      array[i] = array[j];
+      array[j] = tmp;
+    }
+    return array;
+  }
+
+  /**
+   * @return the number of vertices
+   */
+  public int size() {
+    return order.length;
+  }
+
+  /**
+   * @param vertex
+   *   an original vertex id
+   * @return the relabeled id of the vertex
+   */
+  public int toRelabeled(int vertex) {
+    return ranks[vertex];
+  }
+
+  /**
+   * @param vertex
+   *   a relabeled vertex id
+   * @return the original id of the vertex
+   */
+  public int toOriginal(int vertex) {
+    return order[vertex];
+  }
+
+  /**
+   * Build a copy of a graph with every vertex relabeled by this ordering.
+   *
+   * @param graph
+   *   the graph, in original ids
+   * @return the relabeled graph, where vertices {@code toRelabeled(v)} and
+   *   {@code toRelabeled(w)} are adjacent iff v and w are adjacent in
+   *   {@code graph}
+   * @throws IllegalArgumentException
+   *   if the graph doesn't have the same number of vertices as this ordering,
+   *   or has too many edges for {@link CompressedGraphImpl}
+   */
+  public CompressedGraphImpl relabel(Graph graph) {
+    int n = checkSize(graph.size());
+
+    int[] offsets = new int[n + 1];
+    long total = 0;
+    for (int i = 0; i < n; i++) {
+      offsets[i] = (int) total;
+      total += graph.getDegree(order[i]);
+      if (total > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Graph has too many edges for CompressedGraphImpl");
+      }
+    }
+    offsets[n] = (int) total;
+
+    int[] neighbors = new int[(int) total];
+    for (int i = 0; i < n; i++) {
+      int v = order[i];
+      int start = offsets[i];
+      int degree = offsets[i + 1] - start;
+      for (int j = 0; j < degree; j++) {
+        neighbors[start + j] = ranks[graph.getNeighbor(v, j)];
+      }
+      Arrays.sort(neighbors, start, start + degree);
+    }
+    return new CompressedGraphImpl(offsets, neighbors);
+  }
+
+  /**
+   * Map a matching on the relabeled graph back to original ids.
+   *
+   * @param matching
+   *   a matching in relabeled ids
+   * @return the same matching in original ids
+   */
+  public Matching toOriginal(Matching matching) {
+    return new Matching(permute(matching.mates(), order));
+  }
+
+  /**
+   * Map a matching on the original graph to relabeled ids, e.g. to warm start
+   * an algorithm on the relabeled graph.
+   *
+   * @param matching
+   *   a matching in original ids
+   * @return the same matching in relabeled ids
+   */
+  public Matching toRelabeled(Matching matching) {
+    return new Matching(permute(matching.mates(), ranks));
+  }
+
+  /**
+   * Relabel an array of mates.
+   *
+   * @param mates
+   *   the mate of each vertex, or -1, in source ids
+   * @param map
+   *   maps each source id to its target id
+   * @return the mate of each vertex, or -1, in target ids
+   */
+  private int[] permute(int[] mates, int[] map) {
+    int n = checkSize(mates.length);
+    int[] result = new int[n];
+    for (int v = 0; v < n; v++) {
+      int mate = mates[v];
+      result[map[v]] = mate == -1 ? -1 : map[mate];
+    }
+    return result;
+  }
+
+  /**
+   * @param vertexCount
+   *   the number of vertices of a graph or matching
+   * @return the same count
+   * @throws IllegalArgumentException
+   *   if the count doesn't match this ordering
+   */
+  private int checkSize(int vertexCount) {
+    if (vertexCount != order.length) {
+      throw new IllegalArgumentException("Expected " + order.length + " vertices, got "
+          + vertexCount);
+    }
+    return vertexCount;
+  }
+
+  /**
+   * Compute the bandwidth of a graph, i.e. the largest difference between the
+   * ids of two adjacent vertices. A smaller bandwidth means better locality.
+   *
+   * @param graph
+   *   the graph
+   * @return the bandwidth, or 0 if the graph has no edges
+   */
+  public static int bandwidth(Graph graph) {
+    int bandwidth = 0;
+    for (int v = 0; v < graph.size(); v++) {
+      int degree = graph.getDegree(v);
+      for (int i = 0; i < degree; i++) {
+        bandwidth = Math.max(bandwidth, Math.abs(graph.getNeighbor(v, i) - v));
+      }
+    }
+    return bandwidth;
+  }
+
+  /**
+   * The ways to order a graph's vertices.
+   */
+  public enum Strategy {
+    /**
+     * Breadth-first search order, searching each connected component from its
+     * lowest id. Cheap, and places every vertex near its neighbors.
+     */
+    BFS,
+    /**
+     * The reverse Cuthill-McKee ordering: a breadth-first search from a vertex
+     * of minimum degree that visits neighbors in ascending order of degree,
+     * reversed. Usually gives the smallest bandwidth of these strategies.
+     */
+    REVERSE_CUTHILL_MCKEE,
+    /**
+     * Descending order of degree, breaking ties by id. Groups high-degree
+     * vertices, which are visited most often by random walks, together.
+     */
+    DEGREE;
+  }
+}
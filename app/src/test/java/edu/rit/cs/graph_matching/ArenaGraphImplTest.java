@@ -0,0 +1,245 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ArenaGraphImplTest {
+  /**
+   * Covers {@link ArenaGraphImpl#ArenaGraphImpl(int)},
+   * {@link ArenaGraphImpl#size()}
+   */
+  @Test
+  void construct() {
+    Graph g = new ArenaGraphImpl(1);
+    assertEquals(1, g.size());
+    g = new ArenaGraphImpl(65536);
+    assertEquals(65536, g.size());
+    g = new ArenaGraphImpl(10_000_000);
+    assertEquals(10_000_000, g.size());
+
+    assertThrows(IllegalArgumentException.class, () -> new ArenaGraphImpl(0),
+        "Graphs should not support 0 vertices");
+  }
+
+  /**
+   * Covers {@link ArenaGraphImpl#hasEdge(int, int)},
+   * {@link ArenaGraphImpl#addEdge(int, int)},
+   * {@link ArenaGraphImpl#removeEdge(int, int)}, {@link ArenaGraphImpl#clear()}
+   */
+  @Test
+  void modify() {
+    MutableGraph g = new ArenaGraphImpl(3);
+
+    assertFalse(g.hasEdge(0, 1), "Edges should not exist before being added");
+    g.addEdge(0, 1);
+    assertTrue(g.hasEdge(0, 1), "Edges should exist after being added");
+    assertDoesNotThrow(() -> g.addEdge(0, 1), "Graphs should support silently re-adding edges");
+    assertEquals(1, g.getDegree(0));
+
+    g.addEdge(1, 2);
+    assertTrue(g.hasEdge(2, 1), "Edges should exist after being added");
+    assertTrue(g.hasEdge(0, 1), "Edges should exist after others have been added");
+
+    g.removeEdge(0, 1);
+    assertFalse(g.hasEdge(0, 1), "Edges should not exist after being removed");
+    assertTrue(g.hasEdge(1, 2), "Removing one edge shouldn't affect another edge");
+    assertDoesNotThrow(() -> g.removeEdge(0, 1), "Graphs should support removing missing edges");
+
+    g.clear();
+    assertFalse(g.hasEdge(1, 2), "Clearing a graph should remove all edges");
+    assertEquals(0, g.getDegree(1));
+
+    assertThrows(UnsupportedOperationException.class, () -> g.addEdge(0, 0),
+        "Graphs should not support adding self-looping edges");
+    assertThrows(IndexOutOfBoundsException.class, () -> g.addEdge(0, 3),
+        "Graphs should not support adding edges with out-of-range vertices");
+    assertThrows(UnsupportedOperationException.class, () -> g.removeEdge(0, 0),
+        "Graphs should not support removing self-looping edges");
+    assertThrows(IndexOutOfBoundsException.class, () -> g.removeEdge(-1, 0),
+        "Graphs should not support removing edges with out-of-range vertices");
+  }
+
+  /**
+   * Covers {@link ArenaGraphImpl#getRandomNeighbor(int)},
+   * {@link ArenaGraphImpl#getAllNeighbors(int)},
+   * {@link ArenaGraphImpl#getNeighbor(int, int)},
+   * {@link ArenaGraphImpl#forEachNeighbor(int, java.util.function.IntConsumer)}
+   */
+  @Test
+  void query() {
+    Random rd = new Random(0);
+    MutableGraph g = new ArenaGraphImpl(5);
+    g.addEdge(0, 1);
+    g.addEdge(0, 2);
+    g.addEdge(0, 3);
+    g.addEdge(1, 2);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, g.getRandomNeighbor(3, rd));
+      assertTrue(g.hasEdge(0, g.getRandomNeighbor(0, rd)));
+    }
+    assertEquals(-1, g.getRandomNeighbor(4, rd));
+
+    Set<Integer> view = g.getAllNeighbors(0);
+    assertEquals(Set.of(1, 2, 3), view);
+    assertEquals(Set.of(), g.getAllNeighbors(4));
+
+    Set<Integer> indexed = new LinkedHashSet<>();
+    for (int i = 0; i < g.getDegree(0); i++) {
+      indexed.add(g.getNeighbor(0, i));
+    }
+    assertEquals(Set.of(1, 2, 3), indexed);
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(0, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(4, 0));
+
+    Set<Integer> visited = new LinkedHashSet<>();
+    g.forEachNeighbor(0, visited::add);
+    assertEquals(Set.of(1, 2, 3), visited);
+
+    // The view reflects later changes, even after the slab is relocated
+    g.addEdge(0, 4);
+    g.removeEdge(0, 2);
+    assertEquals(Set.of(1, 3, 4), view);
+    assertThrows(UnsupportedOperationException.class, () -> view.add(2));
+  }
+
+  /**
+   * Applies the same random edits to this graph and to
+   * {@link SparseGraphImpl}, across slab relocations and both the scanned and
+   * hashed slab layouts.
+   */
+  @Test
+  void matchesSparseGraph() {
+    Random rd = new Random(1);
+    int n = 200;
+    ArenaGraphImpl g = new ArenaGraphImpl(n);
+    SparseGraphImpl expected = new SparseGraphImpl(n);
+
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 40_000; i++) {
+        // Skew the endpoints so that some vertices reach high degrees
+        int u = rd.nextInt(1 + rd.nextInt(n));
+        int v = rd.nextInt(n);
+        if (u == v) {
+          continue;
+        }
+        if (rd.nextInt(3) == 0) {
+          g.removeEdge(u, v);
+          expected.removeEdge(u, v);
+        } else {
+          g.addEdge(u, v);
+          expected.addEdge(u, v);
+        }
+      }
+
+      int maxDegree = 0;
+      for (int v = 0; v < n; v++) {
+        assertEquals(expected.getDegree(v), g.getDegree(v));
+        assertEquals(expected.getAllNeighbors(v), g.getAllNeighbors(v));
+        for (int u = 0; u < n; u++) {
+          assertEquals(expected.hasEdge(v, u), g.hasEdge(v, u));
+        }
+        maxDegree = Math.max(maxDegree, g.getDegree(v));
+      }
+      assertTrue(maxDegree > ArenaGraphImpl.SCAN_CAPACITY, "Some slabs should be hashed");
+
+      // Removing every edge leaves the slabs in place for the next round
+      int arenaSize = g.arenaSize();
+      for (int v = 0; v < n; v++) {
+        while (g.getDegree(v) > 0) {
+          int u = g.getRandomNeighbor(v, rd);
+          g.removeEdge(v, u);
+          expected.removeEdge(v, u);
+        }
+      }
+      assertEquals(arenaSize, g.arenaSize());
+      if (round == 1) {
+        g.clear();
+        expected.clear();
+      }
+    }
+  }
+
+  /**
+   * Relocated slabs should be reused by the next vertex that needs a slab of
+   * the same capacity.
+   */
+  @Test
+  void reuseSlabs() {
+    ArenaGraphImpl g = new ArenaGraphImpl(10);
+    for (int v = 1; v <= 4; v++) {
+      g.addEdge(0, v);
+    }
+    assertEquals(5 * 4, g.arenaSize());
+
+    // Vertex 0 moves to a slab of 8, and vertex 5 takes its old slab
+    g.addEdge(0, 5);
+    assertEquals(5 * 4 + 8, g.arenaSize());
+    assertEquals(Set.of(1, 2, 3, 4, 5), g.getAllNeighbors(0));
+    assertEquals(Set.of(0), g.getAllNeighbors(5));
+
+    // Slabs don't shrink, so removing and re-adding edges doesn't allocate
+    for (int v = 1; v <= 5; v++) {
+      g.removeEdge(0, v);
+    }
+    for (int v = 1; v <= 5; v++) {
+      g.addEdge(v, 0);
+    }
+    assertEquals(5 * 4 + 8, g.arenaSize());
+  }
+
+  /**
+   * Covers {@link ArenaGraphImpl#addEdges(int[], int[])},
+   * {@link ArenaGraphImpl#ensureDegreeCapacity(int, int)},
+   * {@link ArenaGraphImpl#ensureDegreeCapacity(int)}
+   */
+  @Test
+  void bulk() {
+    // The hub's slab is sized once for all 99 leaves, with a hash index
+    ArenaGraphImpl g = new ArenaGraphImpl(100);
+    int[] hubs = new int[99];
+    int[] leaves = new int[99];
+    for (int i = 0; i < 99; i++) {
+      leaves[i] = i + 1;
+    }
+    g.addEdges(hubs, leaves);
+    assertEquals(128 * 3 + 99 * 4, g.arenaSize());
+    assertEquals(99, g.getDegree(0));
+    for (int v = 1; v < 100; v++) {
+      assertTrue(g.hasEdge(0, v));
+    }
+    assertThrows(UnsupportedOperationException.class,
+        () -> g.addEdges(new int[] {1, 2}, new int[] {3, 2}));
+    assertFalse(g.hasEdge(1, 3), "Invalid batches should leave the graph unchanged");
+
+    // Hints relocate slabs without losing edges, and never shrink them
+    g.ensureDegreeCapacity(5, 20);
+    assertEquals(Set.of(0), g.getAllNeighbors(5));
+    g.addEdge(5, 6);
+    assertTrue(g.hasEdge(6, 5));
+    int arenaSize = g.arenaSize();
+    g.ensureDegreeCapacity(5, 3);
+    g.ensureDegreeCapacity(7, 0);
+    assertEquals(arenaSize, g.arenaSize());
+
+    // Regular graphs of known degree are laid out without any relocation
+    ArenaGraphImpl regular = new ArenaGraphImpl(1000);
+    GraphGenerator.generateRegularGraph(regular, 3);
+    assertEquals(1000 * 4, regular.arenaSize());
+    regular = new ArenaGraphImpl(1000);
+    GraphGenerator.generateRegularGraph(regular, 20);
+    assertEquals(1000 * 32 * 3, regular.arenaSize());
+    for (int v = 0; v < 1000; v++) {
+      assertEquals(20, regular.getDegree(v));
+    }
+  }
+}
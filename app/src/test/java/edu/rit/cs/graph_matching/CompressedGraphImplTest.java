@@ -0,0 +1,140 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedGraphImplTest {
+  /**
+   * Covers {@link CompressedGraphImpl#CompressedGraphImpl(Graph)},
+   * {@link MutableGraph#freeze()}, {@link CompressedGraphImpl#size()}
+   */
+  @Test
+  void construct() {
+    Graph g = new SparseGraphImpl(1).freeze();
+    assertEquals(1, g.size());
+    g = new SparseGraphImpl(50).freeze();
+    assertEquals(50, g.size());
+    g = new DenseGraphImpl(65536).freeze();
+    assertEquals(65536, g.size());
+    g = new CompressedGraphImpl(new SparseGraphImpl(10_000_000));
+    assertEquals(10_000_000, g.size());
+  }
+
+  /**
+   * Covers {@link CompressedGraphImpl#hasEdge(int, int)},
+   * {@link CompressedGraphImpl#getDegree(int)},
+   * {@link CompressedGraphImpl#getRandomNeighbor(int)},
+   * {@link CompressedGraphImpl#getAllNeighbors(int)},
+   * {@link CompressedGraphImpl#getNeighbor(int, int)},
+   * {@link CompressedGraphImpl#forEachNeighbor(int, java.util.function.IntConsumer)}
+   * <p>
+   * {@link CompressedGraphImpl#getRandomNeighbor(int)} has a RNG component;
+   * thus, it will only be tested in a method that is guaranteed to work.
+   */
+  @Test
+  void query() {
+    Set<Edge> edges = Set.of(new Edge(0, 1), new Edge(0, 2), new Edge(0, 3), new Edge(1, 2));
+    Random rd = new Random(0);
+
+    MutableGraph source = new SparseGraphImpl(5);
+    for (Edge e : edges) {
+      source.addEdge(e.vertex1(), e.vertex2());
+    }
+    CompressedGraphImpl g = new CompressedGraphImpl(source);
+
+    // getRandomNeighbor is tested 5 times for consistency
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, g.getRandomNeighbor(3, rd));
+      assertTrue(g.hasEdge(0, g.getRandomNeighbor(0, rd)));
+    }
+    assertEquals(-1, g.getRandomNeighbor(4, rd));
+
+    for (Edge e : edges) {
+      assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+      assertTrue(g.hasEdge(e.vertex2(), e.vertex1()), "Vertex order doesn't matter");
+    }
+
+    assertFalse(g.hasEdge(0, 4));
+    assertFalse(g.hasEdge(4, 0));
+
+    assertEquals(3, g.getDegree(0));
+    assertEquals(0, g.getDegree(4));
+    assertEquals(4, g.edgeCount());
+
+    assertEquals(Set.of(1, 2, 3), g.getAllNeighbors(0));
+    assertEquals(Set.of(), g.getAllNeighbors(4));
+
+    assertEquals(1, g.getNeighbor(0, 0));
+    assertEquals(2, g.getNeighbor(0, 1));
+    assertEquals(3, g.getNeighbor(0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(0, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(4, 0));
+
+    List<Integer> visited = new ArrayList<>();
+    g.forEachNeighbor(0, visited::add);
+    assertEquals(List.of(1, 2, 3), visited);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> g.hasEdge(0, 5));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getDegree(-1));
+  }
+
+  /**
+   * Checks that the frozen graph is an independent, unmodifiable copy.
+   */
+  @Test
+  void immutable() {
+    MutableGraph source = new SparseGraphImpl(3);
+    source.addEdge(0, 1);
+    Graph g = source.freeze();
+
+    source.addEdge(1, 2);
+    source.removeEdge(0, 1);
+    assertTrue(g.hasEdge(0, 1), "Changes to the source graph should not be reflected");
+    assertFalse(g.hasEdge(1, 2), "Changes to the source graph should not be reflected");
+
+    assertThrows(UnsupportedOperationException.class, () -> g.getAllNeighbors(0)
+                                                              .add(2));
+    assertThrows(UnsupportedOperationException.class, () -> g.getAllNeighbors(0)
+                                                              .clear());
+  }
+
+  /**
+   * Checks that a frozen copy of a large random regular graph exactly matches
+   * its source.
+   */
+  @Test
+  void matchesSource() {
+    Random rd = new Random(0);
+    MutableGraph source = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10000), 6);
+    GraphGenerator.mutateRegularGraph(source, 60000, rd);
+    Graph g = source.freeze();
+
+    assertEquals(source.size(), g.size());
+    for (int v = 0; v < g.size(); v++) {
+      assertEquals(source.getDegree(v), g.getDegree(v));
+      assertEquals(source.getAllNeighbors(v), g.getAllNeighbors(v));
+
+      int previous = -1;
+      for (int u : g.getAllNeighbors(v)) {
+        assertTrue(u > previous, "Neighbors should be iterated in ascending order");
+        assertTrue(g.hasEdge(v, u));
+        assertTrue(g.hasEdge(u, v));
+        previous = u;
+      }
+
+      for (int i = 0; i < 10; i++) {
+        int u = rd.nextInt(g.size());
+        assertEquals(source.hasEdge(v, u), g.hasEdge(v, u));
+      }
+    }
+  }
+}
@@ -1,6 +1,10 @@
 package edu.rit.cs.graph_matching;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
 
 import java.util.Objects;
 import java.util.Random;
@@ -9,6 +13,7 @@ import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -81,4 +86,131 @@ class DaniHayesAlgorithmTest {
       assertEquals(g.size() / 2 * 2, vertices.size());
     }
   }
+
+  /**
+   * A star graph has no matching larger than one edge, so a perfect matching
+   * can only end when the budget runs out.
+   */
+  @Test
+  void budgetTest() {
+    Graph g = GraphGenerator.generateStarGraph(new SparseGraphImpl(10));
+    DaniHayesAlgorithm.Budget unlimited = DaniHayesAlgorithm.Budget.UNLIMITED;
+
+    DaniHayesAlgorithm alg = new DaniHayesAlgorithm(g, new Random(0));
+    DaniHayesAlgorithm.Result result = alg.generateMatching(5, unlimited.withMaxSteps(10_000));
+    assertEquals(DaniHayesAlgorithm.Termination.STEP_LIMIT, result.termination());
+    assertEquals(10_000, result.steps());
+    assertEquals(1, result.matching()
+                          .size());
+
+    result = alg.generateMatching(5, unlimited.withMaxSteps(0));
+    assertEquals(DaniHayesAlgorithm.Termination.STEP_LIMIT, result.termination());
+    assertEquals(0, result.steps());
+
+    result = alg.generateMatching(5, unlimited.withMaxQueries(50_000));
+    assertEquals(DaniHayesAlgorithm.Termination.QUERY_LIMIT, result.termination());
+    assertTrue(result.queries() >= 50_000);
+
+    result = alg.generateMatching(5, unlimited.withTimeLimit(Duration.ofMillis(50)));
+    assertEquals(DaniHayesAlgorithm.Termination.DEADLINE, result.termination());
+    assertTrue(result.elapsedNanos() >= Duration.ofMillis(50)
+                                                .toNanos());
+
+    // Limits only apply if the target hasn't been reached yet
+    result = alg.generateMatching(1, unlimited.withMaxSteps(0));
+    assertEquals(DaniHayesAlgorithm.Termination.TARGET_REACHED, result.termination());
+
+    Thread.currentThread()
+          .interrupt();
+    try {
+      result = alg.generateMatching(5, unlimited);
+      assertEquals(DaniHayesAlgorithm.Termination.INTERRUPTED, result.termination());
+      assertTrue(Thread.currentThread()
+                       .isInterrupted(), "Interruption should not be cleared");
+    } finally {
+      Thread.interrupted();
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> unlimited.withMaxSteps(-1));
+    assertThrows(IllegalArgumentException.class,
+        () -> unlimited.withTimeLimit(Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  void unlimitedBudgetTest() {
+    Random rd = new Random(0);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10000), 5);
+    GraphGenerator.mutateRegularGraph(g, 50000, rd);
+
+    DaniHayesAlgorithm alg = new DaniHayesAlgorithm(g, rd);
+    DaniHayesAlgorithm.Result result =
+        alg.generateMatching(g.size() / 2, DaniHayesAlgorithm.Budget.UNLIMITED);
+    assertEquals(DaniHayesAlgorithm.Termination.TARGET_REACHED, result.termination());
+    assertEquals(g.size() / 2, result.matching()
+                                     .size());
+    assertTrue(result.steps() > 0);
+    assertTrue(result.queries() >= result.steps());
+  }
+
+  @Test
+  void resumeTest() {
+    Random rd = new Random(0);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10000), 5);
+    GraphGenerator.mutateRegularGraph(g, 50000, rd);
+
+    DaniHayesAlgorithm alg = new DaniHayesAlgorithm(g, rd);
+    assertEquals(0, alg.getMatchingSize());
+
+    // Successively larger targets continue from the previous matching
+    Set<Edge> previous = Set.of();
+    for (int target = 0; target <= g.size() / 2; target += 500) {
+      Set<Edge> matching = alg.generateMatching(target);
+      assertEquals(target, matching.size());
+      assertEquals(target, alg.getMatchingSize());
+      assertEquals(matching, alg.getMatching());
+      assertTrue(GraphUtils.isValidMatching(matching));
+      previous = matching;
+    }
+
+    // A smaller target leaves the matching untouched
+    assertEquals(previous, alg.generateMatching(10));
+
+    alg.reset();
+    assertEquals(0, alg.getMatchingSize());
+    assertEquals(Set.of(), alg.getMatching());
+
+    // An exported partial matching can be continued elsewhere
+    alg.generateMatching(3000);
+    int[] matches = alg.exportMatches();
+    DaniHayesAlgorithm other = new DaniHayesAlgorithm(g, new Random(1));
+    other.importMatches(matches);
+    assertEquals(alg.getMatching(), other.getMatching());
+    assertEquals(g.size() / 2, other.generatePerfectMatching()
+                                    .size());
+    assertEquals(3000, alg.getMatchingSize(), "Exported array should be a copy");
+  }
+
+  @Test
+  void invalidImportTest() {
+    MutableGraph g = new SparseGraphImpl(4);
+    g.addEdge(0, 1);
+    g.addEdge(2, 3);
+    DaniHayesAlgorithm alg = new DaniHayesAlgorithm(g, new Random(0));
+
+    assertThrows(IllegalArgumentException.class, () -> alg.importMatches(new int[3]));
+    assertThrows(IllegalArgumentException.class,
+        () -> alg.importMatches(new int[] { 1, -1, -1, -1 }));
+    assertThrows(IllegalArgumentException.class,
+        () -> alg.importMatches(new int[] { 0, -1, -1, -1 }));
+    assertThrows(IllegalArgumentException.class,
+        () -> alg.importMatches(new int[] { 2, -1, 0, -1 }));
+    assertThrows(IllegalArgumentException.class,
+        () -> alg.importMatches(new int[] { 4, -1, -1, -1 }));
+    assertEquals(0, alg.getMatchingSize(), "Failed imports should not change the matching");
+
+    alg.importMatches(new int[] { 1, 0, -1, -1 });
+    assertEquals(Set.of(new Edge(0, 1)), alg.getMatching());
+    assertEquals(2, alg.generatePerfectMatching()
+                       .size());
+  }
 }
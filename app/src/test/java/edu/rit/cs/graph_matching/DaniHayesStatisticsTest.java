@@ -0,0 +1,112 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DaniHayesStatisticsTest {
+  @Test
+  void listenerTest() {
+    Random rd = new Random(0);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10_000), 3);
+    GraphGenerator.mutateRegularGraph(g, 30_000, rd);
+
+    DaniHayesStatistics stats = new DaniHayesStatistics();
+    DaniHayesAlgorithm alg = new DaniHayesAlgorithm(g, rd, stats);
+    DaniHayesAlgorithm.Result result = alg.generateMatching(5_000,
+        DaniHayesAlgorithm.Budget.UNLIMITED);
+    assertEquals(DaniHayesAlgorithm.Termination.TARGET_REACHED, result.termination());
+
+    // Every augmentation adds one edge to the matching
+    assertEquals(5_000, stats.getAugmentationCount());
+    assertEquals(result.steps(), stats.getSteps()
+                                      .sum());
+    assertEquals(stats.getRestartCount(), stats.getRestarts()
+                                               .sum());
+    assertTrue(stats.getRepairCount(DaniHayesAlgorithm.Repair.FAIL) <= stats.getRestartCount());
+    assertTrue(stats.getRepairCount(DaniHayesAlgorithm.Repair.SHORTCUT)
+               + stats.getRepairCount(DaniHayesAlgorithm.Repair.POP) > 0,
+        "Near-perfect matchings need repairs");
+
+    // Augmenting paths have odd length, and the first ones are single edges
+    DaniHayesStatistics.Histogram lengths = stats.getPathLengths();
+    assertEquals(0, lengths.bucketCount(0));
+    assertTrue(lengths.bucketCount(1) > 0);
+    assertTrue(lengths.max() % 2 == 1);
+    assertTrue(stats.getAugmentationNanos()
+                    .sum() > 0);
+
+    stats.reset();
+    assertEquals(0, stats.getAugmentationCount());
+    assertEquals(0, stats.getRestartCount());
+    assertEquals(0, stats.getRepairCount(DaniHayesAlgorithm.Repair.POP));
+  }
+
+  /**
+   * Checks that a search stopped by its budget is reported in full once a
+   * later run finishes it.
+   */
+  @Test
+  void resumedRuns() {
+    Random rd = new Random(1);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(2_000), 3);
+    GraphGenerator.mutateRegularGraph(g, 6_000, rd);
+
+    DaniHayesStatistics stats = new DaniHayesStatistics();
+    DaniHayesAlgorithm alg = new DaniHayesAlgorithm(g, rd, stats);
+    DaniHayesAlgorithm.Budget budget = DaniHayesAlgorithm.Budget.UNLIMITED.withMaxSteps(7);
+    long steps = 0;
+    int runs = 0;
+    DaniHayesAlgorithm.Result result;
+    do {
+      result = alg.generateMatching(990, budget);
+      steps += result.steps();
+      runs++;
+    } while (result.termination() != DaniHayesAlgorithm.Termination.TARGET_REACHED);
+
+    assertTrue(runs > 1);
+    assertEquals(990, stats.getAugmentationCount());
+    assertEquals(steps, stats.getSteps()
+                             .sum());
+    assertEquals(stats.getRestartCount(), stats.getRestarts()
+                                               .sum());
+  }
+
+  @Test
+  void histogramTest() {
+    DaniHayesStatistics.Histogram histogram = new DaniHayesStatistics.Histogram();
+    assertEquals(0, histogram.quantile(0.5));
+    assertTrue(Double.isNaN(histogram.mean()));
+
+    assertEquals(0, DaniHayesStatistics.Histogram.bucket(0));
+    assertEquals(1, DaniHayesStatistics.Histogram.bucket(1));
+    assertEquals(2, DaniHayesStatistics.Histogram.bucket(3));
+    assertEquals(3, DaniHayesStatistics.Histogram.bucket(4));
+    assertEquals(63, DaniHayesStatistics.Histogram.bucket(Long.MAX_VALUE));
+
+    for (int i = 0; i < 100; i++) {
+      histogram.record(i);
+    }
+    histogram.record(1_000_000);
+
+    assertEquals(101, histogram.count());
+    assertEquals(4950 + 1_000_000, histogram.sum());
+    assertEquals(1_000_000, histogram.max());
+    assertEquals(1, histogram.bucketCount(0));
+    assertEquals(2, histogram.bucketCount(2));
+    assertEquals(0, histogram.quantile(0.0));
+    // The median is 50, which is in the bucket [32, 64)
+    assertEquals(63, histogram.quantile(0.5));
+    assertEquals(127, histogram.quantile(0.99));
+    assertEquals(1_000_000, histogram.quantile(1.0));
+    assertThrows(IllegalArgumentException.class, () -> histogram.quantile(1.5));
+
+    histogram.reset();
+    assertEquals(0, histogram.count());
+    assertEquals(0, histogram.bucketCount(2));
+  }
+}
@@ -73,7 +73,9 @@ class DenseGraphImplTest {
   /**
    * Covers {@link DenseGraphImpl#hasEdge(int, int)},
    * {@link DenseGraphImpl#getRandomNeighbor(int)},
-   * {@link DenseGraphImpl#getAllNeighbors(int)}
+   * {@link DenseGraphImpl#getAllNeighbors(int)},
+   * {@link DenseGraphImpl#getNeighbor(int, int)},
+   * {@link DenseGraphImpl#forEachNeighbor(int, java.util.function.IntConsumer)}
    * <p>
    * {@link DenseGraphImpl#getRandomNeighbor(int)} has a RNG component; thus, it
    * will only be tested in a method that is guaranteed to work.
@@ -104,6 +106,20 @@ class DenseGraphImplTest {
 
     assertEquals(Set.of(1, 2, 3), g.getAllNeighbors(0));
     assertEquals(Set.of(), g.getAllNeighbors(4));
+
+    Set<Integer> indexed = new LinkedHashSet<>();
+    for (int i = 0; i < g.getDegree(0); i++) {
+      indexed.add(g.getNeighbor(0, i));
+    }
+    assertEquals(Set.of(1, 2, 3), indexed);
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(0, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(4, 0));
+
+    Set<Integer> visited = new LinkedHashSet<>();
+    g.forEachNeighbor(0, visited::add);
+    assertEquals(Set.of(1, 2, 3), visited);
+    g.forEachNeighbor(4, visited::add);
+    assertEquals(Set.of(1, 2, 3), visited);
   }
 
   /**
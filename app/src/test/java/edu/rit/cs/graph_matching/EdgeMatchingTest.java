@@ -40,4 +40,86 @@ class EdgeMatchingTest {
         boolean result = GraphUtils.isValidMatching(edges);
         assertTrue(result, "A single edge should form a valid matching");
     }
+
+    private static MutableGraph pathGraph(int size) {
+        MutableGraph graph = new SparseGraphImpl(size);
+        for (int v = 0; v + 1 < size; v++) {
+            graph.addEdge(v, v + 1);
+        }
+        return graph;
+    }
+
+    @Test
+    void testValidMates() {
+        Graph graph = pathGraph(6);
+        assertTrue(GraphUtils.isValidMatching(graph, new int[] { -1, -1, -1, -1, -1, -1 }));
+        assertTrue(GraphUtils.isValidMatching(graph, new int[] { 1, 0, 3, 2, 5, 4 }));
+        assertTrue(GraphUtils.isValidMatching(graph, new int[] { -1, 2, 1, -1, 5, 4 }));
+    }
+
+    @Test
+    void testInvalidMates() {
+        Graph graph = pathGraph(6);
+        assertFalse(GraphUtils.isValidMatching(graph, new int[] { 1, 0, 3, 2 }),
+                "Wrong number of vertices");
+        assertFalse(GraphUtils.isValidMatching(graph, new int[] { 1, 2, 1, -1, -1, -1 }),
+                "Asymmetric mates");
+        assertFalse(GraphUtils.isValidMatching(graph, new int[] { 0, -1, -1, -1, -1, -1 }),
+                "Self-loop");
+        assertFalse(GraphUtils.isValidMatching(graph, new int[] { 6, -1, -1, -1, -1, -1 }),
+                "Out of range");
+        assertFalse(GraphUtils.isValidMatching(graph, new int[] { 2, -1, 0, -1, -1, -1 }),
+                "Edge {0, 2} is not in the graph");
+    }
+
+    @Test
+    void testValidMatchingObject() {
+        Graph graph = pathGraph(4);
+        assertTrue(GraphUtils.isValidMatching(graph, Matching.fromMates(new int[] { 1, 0, 3, 2 })));
+        assertFalse(GraphUtils.isValidMatching(graph, Matching.fromMates(new int[] { 3, -1, -1, 0 })));
+        assertFalse(GraphUtils.isValidMatching(graph, Matching.fromMates(new int[] { 1, 0 })));
+    }
+
+    @Test
+    void testEdgeList() {
+        Graph graph = pathGraph(6);
+        assertTrue(GraphUtils.isValidMatchingEdgeList(graph, new int[] {}));
+        assertTrue(GraphUtils.isValidMatchingEdgeList(graph, new int[] { 0, 1, 3, 2 }));
+        assertFalse(GraphUtils.isValidMatchingEdgeList(graph, new int[] { 0, 1, 1, 2 }),
+                "Shared vertex");
+        assertFalse(GraphUtils.isValidMatchingEdgeList(graph, new int[] { 0, 2 }),
+                "Edge {0, 2} is not in the graph");
+        assertFalse(GraphUtils.isValidMatchingEdgeList(graph, new int[] { 5, 6 }),
+                "Out of range");
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphUtils.isValidMatchingEdgeList(graph, new int[] { 0 }));
+    }
+
+    @Test
+    void testMaximalMatching() {
+        Graph graph = pathGraph(6);
+        assertTrue(GraphUtils.isMaximalMatching(graph, new int[] { -1, 2, 1, -1, 5, 4 }));
+        assertTrue(GraphUtils.isMaximalMatching(graph, new int[] { 1, 0, -1, 4, 3, -1 }));
+        assertFalse(GraphUtils.isMaximalMatching(graph, new int[] { 1, 0, -1, -1, 5, 4 }),
+                "Edge {2, 3} could still be added");
+        assertFalse(GraphUtils.isMaximalMatching(graph, new int[] { -1, -1, -1, -1, -1, -1 }));
+        assertTrue(GraphUtils.isMaximalMatching(new SparseGraphImpl(3), new int[] { -1, -1, -1 }),
+                "No edges can be added to an empty graph");
+        assertTrue(GraphUtils.isMaximalMatching(graph,
+                Matching.fromMates(new int[] { 1, 0, 3, 2, 5, 4 })));
+    }
+
+    @Test
+    void testAlgorithmResults() {
+        Random rd = new Random(0);
+        MutableGraph graph = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10000), 5);
+        GraphGenerator.mutateRegularGraph(graph, 50000, rd);
+
+        Matching matching = new DaniHayesAlgorithm(graph, rd).generateMatching();
+        assertTrue(GraphUtils.isValidMatching(graph, matching));
+
+        Matching maximum = new EdmondsAlgorithm(graph).computeMaximumMatching();
+        assertTrue(GraphUtils.isValidMatching(graph, maximum));
+        assertTrue(GraphUtils.isMaximalMatching(graph, maximum));
+    }
 }
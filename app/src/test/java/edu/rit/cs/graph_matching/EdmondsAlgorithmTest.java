@@ -1,13 +1,20 @@
 package edu.rit.cs.graph_matching;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Random;
 import java.util.Set;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import edu.rit.cs.graph_matching.EdmondsAlgorithm.Initialization;
+
 class EdmondsAlgorithmTest {
   @ParameterizedTest
   @ValueSource(ints = { 2, 5, 10, 100, 1000, 10000 })
@@ -29,4 +36,112 @@ class EdmondsAlgorithmTest {
     assertEquals(matchingSize, matching.size(),
         "Star-wheel hybrid graphs have a fixed maximum matching size");
   }
+
+  @ParameterizedTest
+  @CsvSource({ "100, 3", "1000, 3", "1000, 10", "10000, 4" })
+  void regularBipartiteGraphs(int vertices, int degree) {
+    Random rd = new Random(vertices * 31L + degree);
+    MutableGraph g =
+        GraphGenerator.generateRegularBipartiteGraph(new SparseGraphImpl(vertices), degree);
+    GraphGenerator.mutateBipartiteRegularGraph(g, vertices * degree, rd);
+
+    EdmondsAlgorithm algorithm = new EdmondsAlgorithm(g);
+    Set<Edge> matching = algorithm.computeMaximumMatching();
+    assertTrue(GraphUtils.isValidMatching(matching));
+    assertEquals(vertices / 2, matching.size(),
+        "Regular bipartite graphs always have a perfect matching");
+  }
+
+  /**
+   * Compares against a brute-force search on many small random graphs, which
+   * are likely to contain nested blossoms.
+   */
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource({
+    "6, 0.5, NONE", "9, 0.3, NONE", "12, 0.2, NONE", "13, 0.4, NONE", "14, 0.15, NONE",
+    "6, 0.5, GREEDY", "9, 0.3, GREEDY", "12, 0.2, GREEDY", "13, 0.4, GREEDY",
+    "14, 0.15, GREEDY",
+    "6, 0.5, KARP_SIPSER", "9, 0.3, KARP_SIPSER", "12, 0.2, KARP_SIPSER",
+    "13, 0.4, KARP_SIPSER", "14, 0.15, KARP_SIPSER",
+  })
+  // @formatter:on
+  void smallRandomGraphs(int vertices, double edgeProb, Initialization initialization) {
+    Random rd = new Random(vertices);
+    for (int j = 0; j < 200; j++) {
+      MutableGraph g =
+          GraphGenerator.generateRandomGraph(new SparseGraphImpl(vertices), edgeProb, rd);
+
+      EdmondsAlgorithm algorithm = new EdmondsAlgorithm(g, initialization);
+      Set<Edge> matching = algorithm.computeMaximumMatching();
+      assertTrue(GraphUtils.isValidMatching(matching));
+      for (Edge e : matching) {
+        assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+      }
+
+      int[] memo = new int[1 << vertices];
+      Arrays.fill(memo, -1);
+      assertEquals(bruteForceMaximumMatching(g, (1 << vertices) - 1, memo), matching.size());
+    }
+  }
+
+  /**
+   * Checks that warm-starting from a Dani-Hayes matching still results in a
+   * maximum matching.
+   */
+  @ParameterizedTest
+  @CsvSource({ "1000, 3", "10000, 5" })
+  void seededFromDaniHayes(int vertices, int degree) {
+    Random rd = new Random(vertices * 31L + degree);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(vertices), degree);
+    GraphGenerator.mutateRegularGraph(g, vertices * degree, rd);
+
+    Set<Edge> initial = new DaniHayesAlgorithm(g, rd).generateMatching();
+    Set<Edge> matching = new EdmondsAlgorithm(g).computeMaximumMatching(initial);
+    assertTrue(GraphUtils.isValidMatching(matching));
+    assertEquals(new EdmondsAlgorithm(g, Initialization.NONE).computeMaximumMatching()
+                                                            .size(),
+        matching.size());
+  }
+
+  @Test
+  void invalidSeed() {
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10), 2);
+    EdmondsAlgorithm algorithm = new EdmondsAlgorithm(g);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> algorithm.computeMaximumMatching(Set.of(new Edge(0, 5))),
+        "Initial matchings should only contain edges in the graph");
+    assertThrows(IllegalArgumentException.class,
+        () -> algorithm.computeMaximumMatching(Set.of(new Edge(0, 1), new Edge(1, 2))),
+        "Initial matchings should be valid matchings");
+  }
+
+  /**
+   * Computes the size of a maximum matching on the subgraph induced by a set of
+   * vertices, by trying every possible match for the lowest vertex.
+   */
+  static int bruteForceMaximumMatching(Graph g, int vertices, int[] memo) {
+    if (vertices == 0) {
+      return 0;
+    }
+    if (memo[vertices] >= 0) {
+      return memo[vertices];
+    }
+
+    int v = Integer.numberOfTrailingZeros(vertices);
+    int remaining = vertices & ~(1 << v);
+
+    // Either v is unmatched...
+    int best = bruteForceMaximumMatching(g, remaining, memo);
+    // ...or v is matched to one of its remaining neighbors
+    for (int u = v + 1; u < g.size(); u++) {
+      if ((remaining & (1 << u)) != 0 && g.hasEdge(v, u)) {
+        best = Math.max(best, 1 + bruteForceMaximumMatching(g, remaining & ~(1 << u), memo));
+      }
+    }
+
+    memo[vertices] = best;
+    return best;
+  }
 }
@@ -0,0 +1,194 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExperimentRunnerTest {
+  @TempDir
+  Path tempDir;
+
+  private static ExperimentRunner.Config config(ExperimentRunner.Family family) {
+    return new ExperimentRunner.Config(family, List.of(100, 200), List.of(3, 4), List.of(0, 500),
+        List.of(1L, 2L),
+        List.of(ExperimentRunner.Algorithm.DANI_HAYES, ExperimentRunner.Algorithm.EDMONDS),
+        Duration.ofSeconds(30), 4);
+  }
+
+  @Test
+  void csvSweep() throws IOException, InterruptedException {
+    Path output = tempDir.resolve("results.csv");
+    ExperimentRunner runner = new ExperimentRunner(config(ExperimentRunner.Family.REGULAR));
+    assertEquals(32, runner.run(output, ExperimentRunner.Format.CSV, false));
+
+    List<String> lines = Files.readAllLines(output);
+    assertEquals(33, lines.size());
+    assertEquals(String.join(",", ExperimentRunner.Format.COLUMNS), lines.get(0));
+
+    Set<ExperimentRunner.Key> keys = new HashSet<>();
+    for (String line : lines.subList(1, lines.size())) {
+      String[] values = line.split(",", -1);
+      assertEquals(ExperimentRunner.Format.COLUMNS.size(), values.length);
+      assertEquals("regular", values[0]);
+      // Both algorithms find a perfect matching on these graphs
+      assertEquals(Integer.parseInt(values[1]) / 2, Integer.parseInt(values[6]), line);
+      if (values[5].equals("dani_hayes")) {
+        assertEquals("target_reached", values[7]);
+        assertTrue(Long.parseLong(values[12]) > 0, "Random neighbor queries should be counted");
+      } else {
+        assertEquals("", values[7]);
+      }
+      keys.add(ExperimentRunner.Format.CSV.parseKey(line));
+    }
+    assertEquals(32, keys.size(), "Every run should be written exactly once");
+  }
+
+  @Test
+  void resume() throws IOException, InterruptedException {
+    Path output = tempDir.resolve("results.jsonl");
+    ExperimentRunner runner = new ExperimentRunner(config(ExperimentRunner.Family.BIPARTITE));
+    assertEquals(32, runner.run(output, ExperimentRunner.Format.JSON, false));
+    List<String> complete = Files.readAllLines(output);
+
+    // Simulate a sweep that was stopped part way, while writing a row
+    List<String> partial = complete.subList(0, 10);
+    Files.writeString(output, String.join("\n", partial) + "\n" + complete.get(10)
+                                                                          .substring(0, 20));
+
+    assertEquals(22, runner.run(output, ExperimentRunner.Format.JSON, true));
+    List<String> resumed = Files.readAllLines(output);
+    assertEquals(32, resumed.size());
+    assertEquals(partial, resumed.subList(0, 10));
+
+    Set<ExperimentRunner.Key> keys = new HashSet<>();
+    for (String line : resumed) {
+      assertTrue(line.startsWith("{\"family\":\"bipartite\""), line);
+      keys.add(ExperimentRunner.Format.JSON.parseKey(line));
+    }
+    assertEquals(32, keys.size());
+
+    // Nothing is left to do
+    assertEquals(0, runner.run(output, ExperimentRunner.Format.JSON, true));
+    assertEquals(resumed, Files.readAllLines(output));
+  }
+
+  /**
+   * Checks that Dani-Hayes runs without a time limit finish on graphs without
+   * a perfect matching. Mutated 2-regular graphs are unions of cycles, some of
+   * them odd.
+   */
+  @Test
+  void noPerfectMatching() {
+    for (List<ExperimentRunner.Algorithm> algorithms : List.of(
+        List.of(ExperimentRunner.Algorithm.DANI_HAYES),
+        List.of(ExperimentRunner.Algorithm.DANI_HAYES, ExperimentRunner.Algorithm.EDMONDS),
+        List.of(ExperimentRunner.Algorithm.PHASED_EDMONDS,
+            ExperimentRunner.Algorithm.DANI_HAYES))) {
+      ExperimentRunner runner = new ExperimentRunner(new ExperimentRunner.Config(
+          ExperimentRunner.Family.REGULAR, List.of(1000), List.of(2), List.of(5000),
+          List.of(1L, 2L), algorithms, null, 1));
+      StringWriter out = new StringWriter();
+      assertTimeoutPreemptively(Duration.ofSeconds(60),
+          () -> runner.run(out, ExperimentRunner.Format.CSV, Set.of()));
+
+      // Every algorithm finds a maximum matching of the same graph
+      Map<String, Integer> sizes = new HashMap<>();
+      for (String line : out.toString()
+                            .split("\n")) {
+        String[] values = line.split(",", -1);
+        int matchingSize = Integer.parseInt(values[6]);
+        assertTrue(matchingSize < 500, line);
+        if (values[5].equals("dani_hayes")) {
+          assertEquals("target_reached", values[7]);
+        }
+        int expected = sizes.computeIfAbsent(values[4], seed -> matchingSize);
+        assertEquals(expected, matchingSize, line);
+      }
+    }
+  }
+
+  @Test
+  void parseKey() {
+    ExperimentRunner.Key key = new ExperimentRunner.Key(ExperimentRunner.Family.REGULAR, 10, 3,
+        5, -7, ExperimentRunner.Algorithm.PHASED_EDMONDS);
+    ExperimentRunner.Run run = new ExperimentRunner.Run(key, 5, null, 1, 2, 3, 4, 5, 6, 7, 8);
+
+    for (ExperimentRunner.Format format : ExperimentRunner.Format.values()) {
+      assertEquals(key, format.parseKey(format.formatRun(run)));
+      assertNull(format.parseKey(""));
+      assertNull(format.parseKey(format.formatRun(run)
+                                       .substring(0, 12)));
+    }
+    assertNull(ExperimentRunner.Format.CSV.parseKey(String.join(",",
+        ExperimentRunner.Format.COLUMNS)));
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExperimentRunner.Config(ExperimentRunner.Family.REGULAR, List.of(101),
+            List.of(3), List.of(0), List.of(0L), List.of(ExperimentRunner.Algorithm.EDMONDS),
+            null, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExperimentRunner.Config(ExperimentRunner.Family.BIPARTITE, List.of(100),
+            List.of(51), List.of(0), List.of(0L), List.of(ExperimentRunner.Algorithm.EDMONDS),
+            null, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExperimentRunner.Config(ExperimentRunner.Family.REGULAR, List.of(100),
+            List.of(3), List.of(0), List.of(), List.of(ExperimentRunner.Algorithm.EDMONDS), null,
+            1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExperimentRunner.Config(ExperimentRunner.Family.REGULAR, List.of(100),
+            List.of(3), List.of(0), List.of(0L), List.of(ExperimentRunner.Algorithm.EDMONDS),
+            null, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExperimentRunner.Config(ExperimentRunner.Family.REGULAR, List.of(4),
+            List.of(0), List.of(0), List.of(0L), List.of(ExperimentRunner.Algorithm.DANI_HAYES),
+            null, 1));
+  }
+
+  @Test
+  void parseArguments() {
+    Main.Options options = Main.parseArguments(new String[] {"--family=bipartite",
+        "--sizes=100,1000", "--degrees=3..5", "--seeds=-1..1", "--algorithms=phased-edmonds",
+        "--time-limit=1.5", "--threads=2", "--output=out.jsonl", "--resume"});
+    ExperimentRunner.Config config = options.config();
+    assertEquals(ExperimentRunner.Family.BIPARTITE, config.family());
+    assertEquals(List.of(100, 1000), config.sizes());
+    assertEquals(List.of(3, 4, 5), config.degrees());
+    assertEquals(List.of(0), config.mutations());
+    assertEquals(List.of(-1L, 0L, 1L), config.seeds());
+    assertEquals(List.of(ExperimentRunner.Algorithm.PHASED_EDMONDS), config.algorithms());
+    assertEquals(Duration.ofMillis(1500), config.timeLimit());
+    assertEquals(2, config.threads());
+    assertEquals(Path.of("out.jsonl"), options.output());
+    assertEquals(ExperimentRunner.Format.JSON, options.format());
+    assertTrue(options.resume());
+
+    assertNull(Main.parseArguments(new String[] {"--help"}));
+    assertEquals(ExperimentRunner.Format.CSV, Main.parseArguments(new String[0])
+                                                  .format());
+
+    for (String bad : List.of("--sizes=abc", "--seeds=3..1", "--family=star", "--resume",
+        "--threads=0", "sizes=10", "--bogus=1", "--sizes=99999999999")) {
+      assertThrows(IllegalArgumentException.class,
+          () -> Main.parseArguments(new String[] {bad}), bad);
+    }
+  }
+}
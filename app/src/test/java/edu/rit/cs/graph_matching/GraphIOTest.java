@@ -0,0 +1,198 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphIOTest {
+  @TempDir
+  Path tempDir;
+
+  /**
+   * Asserts that two graphs have exactly the same edges.
+   */
+  private static void assertSameGraph(Graph expected, Graph actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int v = 0; v < expected.size(); v++) {
+      assertEquals(expected.getAllNeighbors(v), actual.getAllNeighbors(v), "Vertex " + v);
+    }
+  }
+
+  @Test
+  void readEdgeList() throws IOException {
+    Path file = tempDir.resolve("graph.txt");
+    Files.writeString(file, """
+        # Directed graph (each unordered pair of nodes is saved once)
+        % another comment style
+        0 1
+        1\t2
+        2,3 0.5 extra values are ignored
+        3 0
+        1 0
+        0 1
+
+        4 4
+        5 2\r
+        6 7""");
+
+    CompressedGraphImpl g = GraphIO.readEdgeList(file);
+    assertEquals(8, g.size());
+    assertEquals(6, g.edgeCount());
+    assertEquals(Set.of(1, 3), g.getAllNeighbors(0));
+    assertEquals(Set.of(0, 2), g.getAllNeighbors(1));
+    assertEquals(Set.of(1, 3, 5), g.getAllNeighbors(2));
+    assertEquals(Set.of(), g.getAllNeighbors(4), "Self-loops should be dropped");
+    assertTrue(g.hasEdge(6, 7), "The last line doesn't need a newline");
+
+    MutableGraph mutable = GraphIO.readEdgeList(file, new SparseGraphImpl(8));
+    assertSameGraph(g, mutable);
+
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> GraphIO.readEdgeList(file, new SparseGraphImpl(5)));
+  }
+
+  @Test
+  void readEmptyEdgeList() throws IOException {
+    Path file = tempDir.resolve("empty.txt");
+    Files.writeString(file, "# nothing here\n");
+    assertEquals(0, GraphIO.readEdgeList(file)
+                           .size());
+  }
+
+  @Test
+  void malformedEdgeList() throws IOException {
+    Path file = tempDir.resolve("bad.txt");
+
+    Files.writeString(file, "0 1\n2\n");
+    IOException e = assertThrows(IOException.class, () -> GraphIO.readEdgeList(file));
+    assertTrue(e.getMessage()
+                .contains("line 2"));
+
+    Files.writeString(file, "0 -1\n");
+    assertThrows(IOException.class, () -> GraphIO.readEdgeList(file));
+
+    Files.writeString(file, "0 x\n");
+    assertThrows(IOException.class, () -> GraphIO.readEdgeList(file));
+
+    Files.writeString(file, "0 99999999999\n");
+    assertThrows(IOException.class, () -> GraphIO.readEdgeList(file));
+  }
+
+  /**
+   * Checks that large graphs survive a round trip through both formats,
+   * including lines that span several read buffers.
+   */
+  @Test
+  void roundTrip() throws IOException {
+    Random rd = new Random(0);
+    MutableGraph source = GraphGenerator.generateRegularGraph(new SparseGraphImpl(100_000), 5);
+    GraphGenerator.mutateRegularGraph(source, 500_000, rd);
+
+    Path text = tempDir.resolve("graph.txt");
+    GraphIO.writeEdgeList(source, text);
+    assertSameGraph(source, GraphIO.readEdgeList(text));
+
+    Path binary = tempDir.resolve("graph.bin");
+    GraphIO.writeBinary(source, binary);
+    assertEquals(24 + 100_001L * 8 + 500_000L * 4, Files.size(binary));
+    CompressedGraphImpl g = GraphIO.readBinary(binary);
+    assertSameGraph(source, g);
+
+    // The compressed graph can be written back out unchanged
+    Path copy = tempDir.resolve("copy.bin");
+    GraphIO.writeBinary(g, copy);
+    assertEquals(-1, Files.mismatch(binary, copy));
+  }
+
+  /**
+   * Checks that isolated vertices after the last vertex with an edge are kept
+   * by the edge list header.
+   */
+  @Test
+  void roundTripIsolatedVertices() throws IOException {
+    MutableGraph source = new SparseGraphImpl(71);
+    source.addEdge(0, 5);
+    source.addEdge(3, 68);
+    source.addEdge(5, 68);
+
+    Path text = tempDir.resolve("graph.txt");
+    GraphIO.writeEdgeList(source, text);
+    assertSameGraph(source, GraphIO.readEdgeList(text));
+
+    Path binary = tempDir.resolve("graph.bin");
+    GraphIO.writeBinary(source, binary);
+    assertSameGraph(source, GraphIO.readBinary(binary));
+
+    // The header never shrinks the graph below the largest id
+    Files.writeString(text, "# vertices: 3\n0 6\n");
+    assertEquals(7, GraphIO.readEdgeList(text)
+                           .size());
+
+    Files.writeString(text, "# vertices: 10\r\n");
+    assertEquals(10, GraphIO.readEdgeList(text)
+                            .size());
+  }
+
+  @Test
+  void emptyBinary() throws IOException {
+    Path binary = tempDir.resolve("graph.bin");
+    GraphIO.writeBinary(new SparseGraphImpl(3), binary);
+    CompressedGraphImpl g = GraphIO.readBinary(binary);
+    assertEquals(3, g.size());
+    assertEquals(0, g.edgeCount());
+    assertFalse(g.hasEdge(0, 1));
+  }
+
+  @Test
+  void corruptBinary() throws IOException {
+    MutableGraph source = new SparseGraphImpl(3);
+    source.addEdge(0, 1);
+    source.addEdge(1, 2);
+    Path binary = tempDir.resolve("graph.bin");
+    GraphIO.writeBinary(source, binary);
+    byte[] bytes = Files.readAllBytes(binary);
+
+    Path corrupt = tempDir.resolve("corrupt.bin");
+    Files.write(corrupt, Arrays.copyOf(bytes, bytes.length - 1));
+    assertThrows(IOException.class, () -> GraphIO.readBinary(corrupt));
+
+    byte[] badMagic = bytes.clone();
+    badMagic[0] = 'X';
+    Files.write(corrupt, badMagic);
+    assertThrows(IOException.class, () -> GraphIO.readBinary(corrupt));
+
+    // Point vertex 0's only neighbor at itself
+    byte[] selfLoop = bytes.clone();
+    ByteBuffer.wrap(selfLoop)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .putInt(24 + 4 * 8, 0);
+    Files.write(corrupt, selfLoop);
+    assertThrows(IOException.class, () -> GraphIO.readBinary(corrupt));
+
+    // Start vertex 0's neighbors after the beginning of the neighbor entries
+    byte[] badFirstOffset = bytes.clone();
+    ByteBuffer.wrap(badFirstOffset)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .putLong(24, 1);
+    Files.write(corrupt, badFirstOffset);
+    IOException e = assertThrows(IOException.class, () -> GraphIO.readBinary(corrupt));
+    assertTrue(e.getMessage()
+                .contains("invalid offset"));
+
+    Files.writeString(corrupt, "0 1\n");
+    assertThrows(IOException.class, () -> GraphIO.readBinary(corrupt));
+  }
+}
@@ -1,10 +1,14 @@
 package edu.rit.cs.graph_matching;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.Test;
 
@@ -56,8 +60,71 @@ class GraphStatisticsTest {
     assertEquals(Set.of(1, 2, 3), stats.getAllNeighbors(0));
     assertEquals(Set.of(), stats.getAllNeighbors(4));
 
+    assertEquals(0, stats.getNeighbor(3, 0));
+    stats.forEachNeighbor(0, v -> assertTrue(g.hasEdge(0, v)));
+
     assertEquals(5, stats.getEdgeCheckCount());
     assertEquals(10, stats.getRandomNeighborCount());
     assertEquals(2, stats.getAllNeighborsCount());
+    assertEquals(1, stats.getNeighborCount());
+    assertEquals(1, stats.getForEachNeighborCount());
+  }
+
+  /**
+   * Covers {@link GraphStatistics#snapshot()}, {@link GraphStatistics#reset()},
+   * {@link GraphStatistics#snapshotAndReset()}
+   */
+  @Test
+  void snapshot() {
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10), 3);
+    for (GraphStatistics stats : List.of(new GraphStatistics(g), GraphStatistics.concurrent(g))) {
+      stats.size();
+      stats.getDegree(0);
+      stats.hasEdge(0, 1);
+      stats.hasEdge(0, 2);
+      GraphStatistics.Snapshot first = stats.snapshot();
+      assertEquals(new GraphStatistics.Snapshot(1, 1, 2, 0, 0, 0, 0), first);
+      assertEquals(3, first.queries());
+
+      stats.getNeighbor(0, 0);
+      GraphStatistics.Snapshot second = stats.snapshotAndReset();
+      assertEquals(new GraphStatistics.Snapshot(0, 0, 0, 0, 0, 1, 0), second.minus(first));
+      assertEquals(new GraphStatistics.Snapshot(0, 0, 0, 0, 0, 0, 0), stats.snapshot());
+
+      stats.getAllNeighbors(0);
+      stats.reset();
+      assertEquals(0, stats.getAllNeighborsCount());
+    }
+  }
+
+  /**
+   * Covers {@link GraphStatistics#concurrent(Graph)}
+   */
+  @Test
+  void concurrent() throws InterruptedException {
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(1000), 4);
+    GraphStatistics stats = GraphStatistics.concurrent(g);
+    assertTrue(stats.isConcurrent());
+    assertFalse(new GraphStatistics(g).isConcurrent());
+
+    int threadCount = 8;
+    int queriesPerThread = 100_000;
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      SplittableRandom random = new SplittableRandom(t);
+      threads.add(Thread.ofPlatform()
+                        .start(() -> {
+                          for (int i = 0; i < queriesPerThread; i++) {
+                            int v = random.nextInt(1000);
+                            stats.hasEdge(v, stats.getRandomNeighbor(v, random));
+                          }
+                        }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals((long) threadCount * queriesPerThread, stats.getEdgeCheckCount());
+    assertEquals((long) threadCount * queriesPerThread, stats.getRandomNeighborCount());
   }
 }
@@ -0,0 +1,115 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphUtilsTest {
+    @TempDir
+    Path tempDir;
+
+    private static MutableGraph triangle() {
+        MutableGraph graph = new SparseGraphImpl(4);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(0, 2);
+        return graph;
+    }
+
+    @Test
+    void testGenerateDotFile() throws IOException {
+        Path file = tempDir.resolve("graph.dot");
+        GraphUtils.generateDotFile(triangle(), file.toFile());
+
+        String dot = Files.readString(file);
+        assertTrue(dot.startsWith("graph G {\n0;\n1;\n2;\n3;\n"));
+        assertTrue(dot.contains("0 -- 1;\n"));
+        assertTrue(dot.contains("0 -- 2;\n"));
+        assertTrue(dot.contains("1 -- 2;\n"));
+        assertTrue(dot.endsWith("}\n"));
+        assertEquals(3, dot.split("--").length - 1, "Each edge should be written once");
+    }
+
+    @Test
+    void testMatchingOverlay() throws IOException {
+        MutableGraph graph = triangle();
+        Matching matching = Matching.fromMates(new int[] { -1, 2, 1, -1 });
+        Path file = tempDir.resolve("graph.dot");
+        GraphUtils.generateDotFile(graph, file,
+                GraphUtils.DotOptions.DEFAULT.withMatching(matching));
+
+        String dot = Files.readString(file);
+        assertTrue(dot.contains("0 -- 1;\n"));
+        assertTrue(dot.contains("1 -- 2 [color=red, penwidth=3];\n"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphUtils.generateDotFile(graph, file, GraphUtils.DotOptions.DEFAULT
+                        .withMatching(Matching.fromMates(new int[] { 1, 0 }))));
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphUtils.DotOptions.DEFAULT.withParallelism(0));
+    }
+
+    /**
+     * Checks that every combination of options produces the same text as the
+     * plain sequential output.
+     */
+    @Test
+    void testOptionsAgree() throws IOException {
+        Random rd = new Random(0);
+        MutableGraph graph = GraphGenerator.generateRegularGraph(new SparseGraphImpl(100_000), 5);
+        GraphGenerator.mutateRegularGraph(graph, 500_000, rd);
+        Matching matching = new DaniHayesAlgorithm(graph, rd).generateMatching();
+
+        GraphUtils.DotOptions options = GraphUtils.DotOptions.DEFAULT.withMatching(matching);
+        Path sequential = tempDir.resolve("sequential.dot");
+        GraphUtils.generateDotFile(graph, sequential, options);
+        byte[] expected = Files.readAllBytes(sequential);
+
+        Path parallel = tempDir.resolve("parallel.dot");
+        GraphUtils.generateDotFile(graph, parallel, options.withParallelism(4));
+        assertArrayEquals(expected, Files.readAllBytes(parallel));
+
+        Path gzip = tempDir.resolve("parallel.dot.gz");
+        GraphUtils.generateDotFile(graph, gzip, options.withParallelism(3)
+                                                      .withGzip(true));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+            assertArrayEquals(expected, in.readAllBytes());
+        }
+
+        String dot = new String(expected, StandardCharsets.US_ASCII);
+        assertEquals(matching.size(), dot.split("color=red").length - 1);
+    }
+
+    @Test
+    void testAsciiWriter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AsciiWriter writer = new AsciiWriter(out, 16)) {
+            writer.write(0)
+                  .write(' ')
+                  .write(-42)
+                  .write(' ')
+                  .write(Integer.MAX_VALUE)
+                  .write(' ')
+                  .write(Integer.MIN_VALUE)
+                  .write(" done");
+            byte[] big = "x".repeat(40)
+                            .getBytes(StandardCharsets.US_ASCII);
+            writer.write(big, 0, big.length);
+        }
+        assertEquals("0 -42 2147483647 -2147483648 done" + "x".repeat(40),
+                out.toString(StandardCharsets.US_ASCII));
+    }
+}
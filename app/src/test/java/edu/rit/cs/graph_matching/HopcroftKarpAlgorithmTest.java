@@ -0,0 +1,123 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HopcroftKarpAlgorithmTest {
+  @ParameterizedTest
+  @ValueSource(ints = { 2, 5, 10, 100, 1000, 10000 })
+  void starGraphs(int vertices) {
+    Graph g = GraphGenerator.generateStarGraph(new SparseGraphImpl(vertices));
+    HopcroftKarpAlgorithm algorithm = new HopcroftKarpAlgorithm(g);
+    Set<Edge> matching = algorithm.computeMaximumMatching();
+    assertEquals(1, matching.size(), "Star graphs always have a maximum matching of 1 edge");
+  }
+
+  @ParameterizedTest
+  @CsvSource({ "100, 3", "1000, 3", "1000, 10", "100000, 4" })
+  void regularBipartiteGraphs(int vertices, int degree) {
+    Random rd = new Random(vertices * 31L + degree);
+    MutableGraph g =
+        GraphGenerator.generateRegularBipartiteGraph(new SparseGraphImpl(vertices), degree);
+    GraphGenerator.mutateBipartiteRegularGraph(g, vertices * degree, rd);
+
+    HopcroftKarpAlgorithm algorithm = new HopcroftKarpAlgorithm(g);
+    Set<Edge> matching = algorithm.computeMaximumMatching();
+    assertTrue(GraphUtils.isValidMatching(matching));
+    assertEquals(vertices / 2, matching.size(),
+        "Regular bipartite graphs always have a perfect matching");
+  }
+
+  /**
+   * Compares against a brute-force search on many small random bipartite
+   * graphs, using the known bipartition from {@link GraphGenerator}.
+   */
+  @ParameterizedTest
+  @CsvSource({ "6, 0.5", "10, 0.3", "14, 0.2", "14, 0.4" })
+  void smallRandomGraphs(int vertices, double edgeProb) {
+    BitSet left = new BitSet();
+    left.set(0, vertices / 2);
+
+    Random rd = new Random(vertices);
+    for (int j = 0; j < 200; j++) {
+      MutableGraph g = new SparseGraphImpl(vertices);
+      GraphGenerator.irregularizeBipartiteGraph(g, edgeProb, rd);
+
+      HopcroftKarpAlgorithm algorithm = new HopcroftKarpAlgorithm(g, left);
+      Set<Edge> matching = algorithm.computeMaximumMatching();
+      assertTrue(GraphUtils.isValidMatching(matching));
+      for (Edge e : matching) {
+        assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+      }
+
+      int[] memo = new int[1 << vertices];
+      Arrays.fill(memo, -1);
+      assertEquals(
+          EdmondsAlgorithmTest.bruteForceMaximumMatching(g, (1 << vertices) - 1, memo),
+          matching.size());
+    }
+  }
+
+  /**
+   * Compares against {@link EdmondsAlgorithm} on irregular bipartite graphs,
+   * which usually don't have perfect matchings.
+   */
+  @ParameterizedTest
+  @CsvSource({ "1000, 2, 0.001", "2000, 3, 0.0005" })
+  void irregularBipartiteGraphs(int vertices, int degree, double p) {
+    Random rd = new Random(vertices * 31L + degree);
+    for (int j = 0; j < 5; j++) {
+      MutableGraph g =
+          GraphGenerator.generateRegularBipartiteGraph(new SparseGraphImpl(vertices), degree);
+      GraphGenerator.mutateBipartiteRegularGraph(g, vertices * degree, rd);
+      GraphGenerator.irregularizeBipartiteGraph(g, p, rd);
+
+      Set<Edge> matching = new HopcroftKarpAlgorithm(g).computeMaximumMatching();
+      assertTrue(GraphUtils.isValidMatching(matching));
+      assertEquals(new EdmondsAlgorithm(g).computeMaximumMatching()
+                                          .size(),
+          matching.size());
+    }
+  }
+
+  @Test
+  void nonBipartiteGraphs() {
+    MutableGraph triangle = new SparseGraphImpl(3);
+    triangle.addEdge(0, 1);
+    triangle.addEdge(1, 2);
+    triangle.addEdge(2, 0);
+    assertThrows(IllegalArgumentException.class, () -> new HopcroftKarpAlgorithm(triangle),
+        "Odd cycles should be detected");
+
+    MutableGraph path = new SparseGraphImpl(3);
+    path.addEdge(0, 1);
+    path.addEdge(1, 2);
+    BitSet left = new BitSet();
+    left.set(0);
+    left.set(1);
+    assertThrows(IllegalArgumentException.class, () -> new HopcroftKarpAlgorithm(path, left),
+        "Edges within one side of the bipartition should be detected");
+  }
+
+  @Test
+  void findBipartition() {
+    MutableGraph g = GraphGenerator.generateRegularBipartiteGraph(new SparseGraphImpl(10), 2);
+    BitSet left = HopcroftKarpAlgorithm.findBipartition(g);
+    for (int v = 0; v < g.size(); v++) {
+      for (int u : g.getAllNeighbors(v)) {
+        assertTrue(left.get(u) != left.get(v));
+      }
+    }
+  }
+}
@@ -31,6 +31,91 @@ class IntHashSetTest {
     }
   }
 
+  /**
+   * Check that deleted slots are reclaimed without growing the table, so that
+   * repeatedly adding and removing integers uses bounded memory.
+   */
+  @Test
+  @Timeout(5)
+  void checkTombstoneReclamation() {
+    Random random = new Random(0);
+    IntHashSet set = new IntHashSet(1000);
+    for (int i = 0; i < 1000; i++) {
+      set.add(i);
+    }
+    int capacity = set.capacity();
+
+    int next = 1000;
+    for (int i = 0; i < 1_000_000; i++) {
+      assertTrue(set.remove(set.getRandom(random)));
+      assertTrue(set.add(next++));
+    }
+    assertEquals(1000, set.size());
+    assertEquals(capacity, set.capacity());
+    for (int v : set) {
+      assertTrue(set.contains(v));
+    }
+  }
+
+  @Test
+  void testTrimToSize() {
+    IntHashSet set = new IntHashSet();
+    for (int i = 0; i < 100_000; i++) {
+      set.add(i);
+    }
+    for (int i = 0; i < 100_000; i += 100) {
+      set.remove(i + 50);
+    }
+    for (int i = 10; i < 100_000; i++) {
+      set.remove(i);
+    }
+    set.trimToSize();
+    assertEquals(10, set.size());
+    assertEquals(16, set.capacity());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(i < 10, set.contains(i));
+    }
+
+    // The set keeps working normally after being trimmed
+    for (int i = 10; i < 1000; i++) {
+      assertTrue(set.add(i));
+    }
+    assertEquals(1000, set.size());
+
+    set.clear();
+    set.trimToSize();
+    assertFalse(set.contains(0));
+    assertTrue(set.add(5));
+    set.trimToSize();
+    assertTrue(set.contains(5));
+    assertFalse(set.contains(6));
+  }
+
+  @Test
+  void testEnsureCapacity() {
+    IntHashSet set = new IntHashSet();
+    for (int i = 0; i < 10; i++) {
+      set.add(i);
+    }
+    set.ensureCapacity(1000);
+    int capacity = set.capacity();
+    assertEquals(new IntHashSet(1000).capacity(), capacity);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(i < 10, set.contains(i));
+    }
+
+    // Filling the set up to the expected size doesn't grow it
+    for (int i = 10; i < 1000; i++) {
+      assertTrue(set.add(i));
+    }
+    assertEquals(capacity, set.capacity());
+    assertEquals(1000, set.size());
+
+    // Never shrinks
+    set.ensureCapacity(10);
+    assertEquals(capacity, set.capacity());
+  }
+
   @Test
   void testTypeRejection() {
     IntHashSet set = new IntHashSet();
@@ -78,6 +163,13 @@ class IntHashSetTest {
       assertTrue(set.contains(num));
     }
 
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += set.get(i);
+    }
+    assertEquals((long) size * (size - 1) / 2, sum, "get should visit every integer once");
+    assertThrows(IndexOutOfBoundsException.class, () -> set.get(size));
+
     set.clear();
     assertEquals(0, set.size());
     assertThrows(NoSuchElementException.class, () -> set.getRandom(random));
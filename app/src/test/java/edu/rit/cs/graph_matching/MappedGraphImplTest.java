@@ -0,0 +1,122 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedGraphImplTest {
+  @TempDir
+  Path tempDir;
+
+  /**
+   * Covers {@link MappedGraphImpl#hasEdge(int, int)},
+   * {@link MappedGraphImpl#getDegree(int)},
+   * {@link MappedGraphImpl#getRandomNeighbor(int)},
+   * {@link MappedGraphImpl#getAllNeighbors(int)},
+   * {@link MappedGraphImpl#getNeighbor(int, int)},
+   * {@link MappedGraphImpl#forEachNeighbor(int, java.util.function.IntConsumer)}
+   */
+  @Test
+  void query() throws IOException {
+    Set<Edge> edges = Set.of(new Edge(0, 1), new Edge(0, 2), new Edge(0, 3), new Edge(1, 2));
+    Random rd = new Random(0);
+
+    MutableGraph source = new SparseGraphImpl(5);
+    for (Edge e : edges) {
+      source.addEdge(e.vertex1(), e.vertex2());
+    }
+    Path file = tempDir.resolve("graph.bin");
+    GraphIO.writeBinary(source, file);
+    MappedGraphImpl g = new MappedGraphImpl(file);
+
+    assertEquals(5, g.size());
+    assertEquals(4, g.edgeCount());
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, g.getRandomNeighbor(3, rd));
+      assertTrue(g.hasEdge(0, g.getRandomNeighbor(0, rd)));
+    }
+    assertEquals(-1, g.getRandomNeighbor(4, rd));
+
+    for (Edge e : edges) {
+      assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+      assertTrue(g.hasEdge(e.vertex2(), e.vertex1()), "Vertex order doesn't matter");
+    }
+    assertFalse(g.hasEdge(0, 4));
+    assertFalse(g.hasEdge(4, 0));
+
+    assertEquals(3, g.getDegree(0));
+    assertEquals(0, g.getDegree(4));
+
+    assertEquals(Set.of(1, 2, 3), g.getAllNeighbors(0));
+    assertEquals(Set.of(), g.getAllNeighbors(4));
+    assertTrue(g.getAllNeighbors(0)
+                .contains(2));
+    assertThrows(UnsupportedOperationException.class, () -> g.getAllNeighbors(0)
+                                                              .add(4));
+
+    assertEquals(1, g.getNeighbor(0, 0));
+    assertEquals(3, g.getNeighbor(0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(0, 3));
+
+    List<Integer> visited = new ArrayList<>();
+    g.forEachNeighbor(0, visited::add);
+    assertEquals(List.of(1, 2, 3), visited);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> g.hasEdge(0, 5));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getDegree(-1));
+  }
+
+  /**
+   * Checks that a mapped copy of a large random regular graph exactly matches
+   * its source, and can be used by the algorithms.
+   */
+  @Test
+  void matchesSource() throws IOException {
+    Random rd = new Random(0);
+    MutableGraph source = GraphGenerator.generateRegularGraph(new SparseGraphImpl(100_000), 5);
+    GraphGenerator.mutateRegularGraph(source, 500_000, rd);
+    Path file = tempDir.resolve("graph.bin");
+    GraphIO.writeBinary(source, file);
+    MappedGraphImpl g = new MappedGraphImpl(file);
+
+    assertEquals(source.size(), g.size());
+    for (int v = 0; v < g.size(); v++) {
+      assertEquals(source.getDegree(v), g.getDegree(v));
+      assertEquals(source.getAllNeighbors(v), g.getAllNeighbors(v));
+      for (int i = 0; i < 5; i++) {
+        int u = rd.nextInt(g.size());
+        assertEquals(source.hasEdge(v, u), g.hasEdge(v, u));
+      }
+    }
+
+    Matching matching = new DaniHayesAlgorithm(g, rd).generatePerfectMatching();
+    assertEquals(g.size() / 2, matching.size());
+    assertTrue(GraphUtils.isValidMatching(source, matching));
+  }
+
+  @Test
+  void invalidFile() throws IOException {
+    Path file = tempDir.resolve("graph.bin");
+    Files.writeString(file, "0 1\n");
+    assertThrows(IOException.class, () -> new MappedGraphImpl(file));
+
+    GraphIO.writeBinary(new SparseGraphImpl(3), file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length + 4));
+    assertThrows(IOException.class, () -> new MappedGraphImpl(file));
+  }
+}
@@ -0,0 +1,146 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MatchingTest {
+  /**
+   * Covers {@link Matching#fromMates(int[])}, {@link Matching#size()},
+   * {@link Matching#vertexCount()}, {@link Matching#getMate(int)},
+   * {@link Matching#isMatched(int)}, {@link Matching#contains(int, int)},
+   * {@link Matching#forEachEdge(Matching.EdgeConsumer)},
+   * {@link Matching#toMates()}
+   */
+  @Test
+  void query() {
+    int[] mates = { 3, -1, 4, 0, 2, -1 };
+    Matching m = Matching.fromMates(mates);
+    mates[0] = -1;
+    assertEquals(3, m.getMate(0), "Mates should be copied");
+
+    assertEquals(2, m.size());
+    assertEquals(6, m.vertexCount());
+    assertEquals(3, m.getMate(0));
+    assertEquals(-1, m.getMate(1));
+    assertTrue(m.isMatched(2));
+    assertFalse(m.isMatched(5));
+    assertThrows(IndexOutOfBoundsException.class, () -> m.getMate(6));
+
+    assertTrue(m.contains(0, 3));
+    assertTrue(m.contains(3, 0));
+    assertFalse(m.contains(0, 2));
+    assertFalse(m.contains(1, -1));
+    assertFalse(m.contains(-1, 1));
+    assertFalse(m.contains(7, 0));
+
+    List<Edge> edges = new ArrayList<>();
+    m.forEachEdge((v, w) -> edges.add(new Edge(v, w)));
+    assertEquals(List.of(new Edge(0, 3), new Edge(2, 4)), edges);
+
+    int[] copy = m.toMates();
+    copy[0] = -1;
+    assertEquals(3, m.getMate(0), "Exported mates should be a copy");
+  }
+
+  /**
+   * Covers the {@code Set<Edge>} view of a matching.
+   */
+  @Test
+  void setView() {
+    Matching m = Matching.fromMates(new int[] { 3, -1, 4, 0, 2, -1 });
+    Set<Edge> expected = Set.of(new Edge(0, 3), new Edge(2, 4));
+
+    assertEquals(expected, m);
+    assertEquals(m, expected);
+    assertEquals(expected.hashCode(), m.hashCode());
+    assertEquals(new HashSet<>(m), expected);
+    assertTrue(m.contains(new Edge(3, 0)));
+    assertFalse(m.contains(new Edge(0, 1)));
+    assertFalse(m.contains("0 -- 3"));
+
+    List<Edge> iterated = new ArrayList<>(m);
+    assertEquals(List.of(new Edge(0, 3), new Edge(2, 4)), iterated);
+    for (Edge e : m) {
+      assertTrue(e.vertex1() < e.vertex2());
+    }
+
+    Iterator<Edge> it = m.iterator();
+    it.next();
+    assertThrows(UnsupportedOperationException.class, it::remove);
+    it.next();
+    assertThrows(NoSuchElementException.class, it::next);
+
+    assertThrows(UnsupportedOperationException.class, () -> m.add(new Edge(1, 5)));
+    assertThrows(UnsupportedOperationException.class, () -> m.remove(new Edge(0, 3)));
+    assertThrows(UnsupportedOperationException.class, m::clear);
+
+    Matching empty = Matching.fromMates(new int[] { -1, -1, -1, -1, -1, -1 });
+    assertNotEquals(m, empty);
+  }
+
+  @Test
+  void equality() {
+    Matching a = Matching.fromMates(new int[] { 1, 0, -1 });
+    Matching b = Matching.fromMates(new int[] { 1, 0, -1 });
+    Matching c = Matching.fromMates(new int[] { -1, 2, 1 });
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertNotEquals(a, c);
+    assertEquals(Set.of(), Matching.fromMates(new int[] { -1, -1 }));
+
+    // Equality depends only on the edges, as for any other set
+    Matching small = Matching.fromMates(new int[] { 1, 0, -1, -1 });
+    Matching large = Matching.fromMates(new int[] { 1, 0, -1, -1, -1, -1 });
+    assertEquals(Set.of(new Edge(0, 1)), small);
+    assertEquals(Set.of(new Edge(0, 1)), large);
+    assertEquals(small, large);
+    assertEquals(small.hashCode(), large.hashCode());
+    assertNotEquals(small, Matching.fromMates(new int[] { -1, -1, 3, 2, -1, -1 }));
+  }
+
+  @Test
+  void invalidMates() {
+    assertThrows(IllegalArgumentException.class, () -> Matching.fromMates(new int[] { 1, -1 }));
+    assertThrows(IllegalArgumentException.class, () -> Matching.fromMates(new int[] { 0, -1 }));
+    assertThrows(IllegalArgumentException.class, () -> Matching.fromMates(new int[] { 2, -1 }));
+    assertThrows(IllegalArgumentException.class,
+        () -> Matching.fromMates(new int[] { -2, -1 }));
+  }
+
+  /**
+   * Checks that the matchings returned by the algorithms agree with their set
+   * views.
+   */
+  @Test
+  void algorithmResults() {
+    Random rd = new Random(0);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(1000), 4);
+    GraphGenerator.mutateRegularGraph(g, 4000, rd);
+
+    Matching m = new DaniHayesAlgorithm(g, rd).generateMatching(400);
+    assertEquals(400, m.size());
+    assertEquals(400, new HashSet<>(m).size());
+    for (Edge e : m) {
+      assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+      assertEquals(e.vertex2(), m.getMate(e.vertex1()));
+    }
+
+    Matching maximum = new EdmondsAlgorithm(g).computeMaximumMatching();
+    assertEquals(500, maximum.size());
+    assertEquals(new EdmondsAlgorithm(g).computeMaximumMatching(m)
+                                         .size(), maximum.size());
+  }
+}
@@ -0,0 +1,130 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ParallelDaniHayesAlgorithmTest {
+  /** Runs are seeded such that the generated graphs are always the same */
+
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource({
+    "10, 4, 1, 1",
+    "100, 5, 4, 2",
+    "1000, 5, 8, 4",
+    "1001, 6, 3, 8",
+    "100000, 5, 4, 4",
+  })
+  // @formatter:on
+  void regularTest(int size, int degree, int instances, int parallelism) {
+    Random rd = new Random(Objects.hash(size, degree));
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(size), degree);
+    GraphGenerator.mutateRegularGraph(g, size * degree, rd);
+
+    long[] seeds = ParallelDaniHayesAlgorithm.deriveSeeds(rd.nextLong(), instances);
+    ParallelDaniHayesAlgorithm alg = new ParallelDaniHayesAlgorithm(g, seeds, parallelism);
+    ParallelDaniHayesAlgorithm.Result result = alg.generatePerfectMatching();
+
+    assertEquals(g.size() / 2, result.matching()
+                                     .size());
+    assertTrue(result.best()
+                     .reachedTarget());
+    assertTrue(GraphUtils.isValidMatching(result.matching()));
+    for (Edge e : result.matching()) {
+      assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+    }
+
+    assertFalse(result.instances()
+                      .isEmpty());
+    assertTrue(result.instances()
+                     .size() <= instances);
+    for (ParallelDaniHayesAlgorithm.InstanceResult instance : result.instances()) {
+      assertTrue(instance.matching()
+                         .size() <= result.matching()
+                                          .size());
+      assertTrue(GraphUtils.isValidMatching(instance.matching()));
+    }
+  }
+
+  /**
+   * Each instance is deterministic in its seed, so a single-instance run must
+   * agree with the sequential algorithm.
+   */
+  @Test
+  void matchesSequential() {
+    Random rd = new Random(0);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(1000), 4);
+    GraphGenerator.mutateRegularGraph(g, 4000, rd);
+
+    long seed = rd.nextLong();
+    ParallelDaniHayesAlgorithm parallel =
+        new ParallelDaniHayesAlgorithm(g, new long[] { seed }, 1);
+    DaniHayesAlgorithm sequential = new DaniHayesAlgorithm(g, new Random(seed));
+
+    ParallelDaniHayesAlgorithm.Result result = parallel.generateMatching(450);
+    assertEquals(sequential.generateMatching(450), result.matching());
+    assertEquals(seed, result.best()
+                             .seed());
+  }
+
+  /**
+   * A star graph has no matching larger than one edge, so every instance runs
+   * until the caller is interrupted.
+   */
+  @Test
+  @Timeout(value = 10, unit = TimeUnit.SECONDS)
+  void interrupted() throws InterruptedException {
+    Graph g = GraphGenerator.generateStarGraph(new SparseGraphImpl(10));
+    ParallelDaniHayesAlgorithm alg =
+        new ParallelDaniHayesAlgorithm(g, ParallelDaniHayesAlgorithm.deriveSeeds(0, 4), 4);
+
+    AtomicReference<ParallelDaniHayesAlgorithm.Result> result = new AtomicReference<>();
+    AtomicReference<Boolean> stillInterrupted = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      result.set(alg.generatePerfectMatching());
+      stillInterrupted.set(Thread.currentThread()
+                                 .isInterrupted());
+    });
+    thread.start();
+    Thread.sleep(200);
+    thread.interrupt();
+    thread.join();
+
+    assertTrue(stillInterrupted.get(), "Interruption should not be cleared");
+    assertEquals(4, result.get()
+                          .instances()
+                          .size());
+    assertEquals(1, result.get()
+                          .matching()
+                          .size());
+    for (ParallelDaniHayesAlgorithm.InstanceResult instance : result.get()
+                                                                    .instances()) {
+      assertFalse(instance.reachedTarget());
+    }
+  }
+
+  @Test
+  void invalidArguments() {
+    Graph g = new SparseGraphImpl(10);
+    assertThrows(IllegalArgumentException.class,
+        () -> new ParallelDaniHayesAlgorithm(g, new long[0], 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ParallelDaniHayesAlgorithm(g, new long[] { 0 }, 0));
+
+    ParallelDaniHayesAlgorithm alg = new ParallelDaniHayesAlgorithm(g, 0);
+    assertThrows(IllegalArgumentException.class, () -> alg.generateMatching(6));
+    assertThrows(IllegalArgumentException.class, () -> alg.generateMatching(-1));
+  }
+}
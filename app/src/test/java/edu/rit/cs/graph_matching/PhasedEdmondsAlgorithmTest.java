@@ -0,0 +1,105 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.rit.cs.graph_matching.EdmondsAlgorithm.Initialization;
+
+class PhasedEdmondsAlgorithmTest {
+  @ParameterizedTest
+  @ValueSource(ints = { 2, 5, 10, 100, 1000, 10000 })
+  void starGraphs(int vertices) {
+    Graph g = GraphGenerator.generateStarGraph(new SparseGraphImpl(vertices));
+    PhasedEdmondsAlgorithm algorithm = new PhasedEdmondsAlgorithm(g);
+    Set<Edge> matching = algorithm.computeMaximumMatching();
+    assertEquals(1, matching.size(), "Star graphs always have a maximum matching of 1 edge");
+  }
+
+  @ParameterizedTest
+  @CsvSource({ "5, 2", "10, 5", "100, 49", "1000, 400", "5000, 1000", })
+  void starWheelHybridGraphs(int vertices, int matchingSize) {
+    Graph g =
+        GraphGenerator.generateStarGraphWithMatching(new SparseGraphImpl(vertices), matchingSize);
+    PhasedEdmondsAlgorithm algorithm = new PhasedEdmondsAlgorithm(g, Initialization.NONE);
+    Set<Edge> matching = algorithm.computeMaximumMatching();
+    assertEquals(matchingSize, matching.size(),
+        "Star-wheel hybrid graphs have a fixed maximum matching size");
+  }
+
+  /**
+   * Compares against a brute-force search on many small random graphs, which
+   * are likely to contain nested blossoms and several trees per phase.
+   */
+  @ParameterizedTest
+  // @formatter:off
+  @CsvSource({
+    "6, 0.5, NONE", "9, 0.3, NONE", "12, 0.2, NONE", "13, 0.4, NONE", "14, 0.15, NONE",
+    "6, 0.5, KARP_SIPSER", "9, 0.3, KARP_SIPSER", "12, 0.2, KARP_SIPSER",
+    "13, 0.4, KARP_SIPSER", "14, 0.15, KARP_SIPSER",
+  })
+  // @formatter:on
+  void smallRandomGraphs(int vertices, double edgeProb, Initialization initialization) {
+    Random rd = new Random(vertices);
+    for (int j = 0; j < 200; j++) {
+      MutableGraph g =
+          GraphGenerator.generateRandomGraph(new SparseGraphImpl(vertices), edgeProb, rd);
+
+      PhasedEdmondsAlgorithm algorithm = new PhasedEdmondsAlgorithm(g, initialization);
+      Set<Edge> matching = algorithm.computeMaximumMatching();
+      assertTrue(GraphUtils.isValidMatching(matching));
+      for (Edge e : matching) {
+        assertTrue(g.hasEdge(e.vertex1(), e.vertex2()));
+      }
+
+      int[] memo = new int[1 << vertices];
+      Arrays.fill(memo, -1);
+      assertEquals(
+          EdmondsAlgorithmTest.bruteForceMaximumMatching(g, (1 << vertices) - 1, memo),
+          matching.size());
+    }
+  }
+
+  /**
+   * Compares against {@link EdmondsAlgorithm} on larger sparse graphs, where
+   * odd cycles make perfect matchings unlikely.
+   */
+  @ParameterizedTest
+  @CsvSource({ "1000, 0.002", "5000, 0.0004", "5000, 0.0006" })
+  void largeRandomGraphs(int vertices, double edgeProb) {
+    Random rd = new Random(vertices);
+    for (int j = 0; j < 5; j++) {
+      MutableGraph g =
+          GraphGenerator.generateRandomGraph(new SparseGraphImpl(vertices), edgeProb, rd);
+
+      PhasedEdmondsAlgorithm algorithm = new PhasedEdmondsAlgorithm(g, Initialization.NONE);
+      Set<Edge> matching = algorithm.computeMaximumMatching();
+      assertTrue(GraphUtils.isValidMatching(matching));
+      assertEquals(new EdmondsAlgorithm(g).computeMaximumMatching()
+                                          .size(),
+          matching.size());
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({ "1000, 3", "100000, 3" })
+  void regularGraphs(int vertices, int degree) {
+    Random rd = new Random(vertices * 31L + degree);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(vertices), degree);
+    GraphGenerator.mutateRegularGraph(g, vertices * degree, rd);
+
+    Set<Edge> initial = new DaniHayesAlgorithm(g, rd).generateMatching();
+    Set<Edge> matching = new PhasedEdmondsAlgorithm(g).computeMaximumMatching(initial);
+    assertTrue(GraphUtils.isValidMatching(matching));
+    assertEquals(new EdmondsAlgorithm(g).computeMaximumMatching()
+                                        .size(),
+        matching.size());
+  }
+}
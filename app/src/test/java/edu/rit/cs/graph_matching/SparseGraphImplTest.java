@@ -73,7 +73,9 @@ class SparseGraphImplTest {
   /**
    * Covers {@link SparseGraphImpl#hasEdge(int, int)},
    * {@link SparseGraphImpl#getRandomNeighbor(int)},
-   * {@link SparseGraphImpl#getAllNeighbors(int)}
+   * {@link SparseGraphImpl#getAllNeighbors(int)},
+   * {@link SparseGraphImpl#getNeighbor(int, int)},
+   * {@link SparseGraphImpl#forEachNeighbor(int, java.util.function.IntConsumer)}
    * <p>
    * {@link SparseGraphImpl#getRandomNeighbor(int)} has a RNG component; thus, it
    * will only be tested in a method that is guaranteed to work.
@@ -104,6 +106,130 @@ class SparseGraphImplTest {
 
     assertEquals(Set.of(1, 2, 3), g.getAllNeighbors(0));
     assertEquals(Set.of(), g.getAllNeighbors(4));
+
+    Set<Integer> indexed = new LinkedHashSet<>();
+    for (int i = 0; i < g.getDegree(0); i++) {
+      indexed.add(g.getNeighbor(0, i));
+    }
+    assertEquals(Set.of(1, 2, 3), indexed);
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(0, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.getNeighbor(4, 0));
+
+    Set<Integer> visited = new LinkedHashSet<>();
+    g.forEachNeighbor(0, visited::add);
+    assertEquals(Set.of(1, 2, 3), visited);
+    g.forEachNeighbor(4, visited::add);
+    assertEquals(Set.of(1, 2, 3), visited);
+  }
+
+  /**
+   * Covers moving a vertex's neighbors between array and hash set storage as its
+   * degree crosses {@link SparseGraphImpl#SMALL_DEGREE}
+   */
+  @Test
+  void promote() {
+    SparseGraphImpl g = new SparseGraphImpl(100);
+    Random rd = new Random(0);
+
+    for (int i = 1; i <= SparseGraphImpl.SMALL_DEGREE; i++) {
+      g.addEdge(0, i);
+    }
+    g.addEdge(0, 1);
+    assertFalse(g.isPromoted(0), "Vertices up to the threshold should use arrays");
+    assertEquals(SparseGraphImpl.SMALL_DEGREE, g.getDegree(0));
+
+    g.addEdge(0, 99);
+    assertTrue(g.isPromoted(0), "Vertices past the threshold should be promoted");
+    assertEquals(SparseGraphImpl.SMALL_DEGREE + 1, g.getDegree(0));
+    Set<Integer> expected = new LinkedHashSet<>();
+    for (int i = 1; i <= SparseGraphImpl.SMALL_DEGREE; i++) {
+      expected.add(i);
+    }
+    expected.add(99);
+    assertEquals(expected, g.getAllNeighbors(0));
+    for (int i = 0; i < 20; i++) {
+      assertTrue(expected.contains(g.getRandomNeighbor(0, rd)));
+    }
+
+    // Removing a few neighbors stays promoted, to avoid converting back and forth
+    g.removeEdge(0, 99);
+    g.removeEdge(0, 99);
+    assertTrue(g.isPromoted(0));
+    expected.remove(99);
+    for (int i = 1; g.getDegree(0) > SparseGraphImpl.DEMOTE_DEGREE; i++) {
+      g.removeEdge(0, i);
+      expected.remove(i);
+    }
+    assertFalse(g.isPromoted(0), "Vertices should be demoted once their degree drops");
+    assertEquals(expected, g.getAllNeighbors(0));
+    Set<Integer> indexed = new LinkedHashSet<>();
+    for (int i = 0; i < g.getDegree(0); i++) {
+      indexed.add(g.getNeighbor(0, i));
+    }
+    assertEquals(expected, indexed);
+    for (int v = 1; v < 100; v++) {
+      assertEquals(expected.contains(v), g.hasEdge(v, 0));
+      assertEquals(expected.contains(v) ? 1 : 0, g.getDegree(v));
+    }
+
+    // The view reflects later changes, and clearing demotes every vertex
+    Set<Integer> view = g.getAllNeighbors(50);
+    for (int i = 0; i < 50; i++) {
+      g.addEdge(50, i);
+    }
+    assertTrue(g.isPromoted(50));
+    assertEquals(50, view.size());
+    g.clear();
+    assertFalse(g.isPromoted(50));
+    assertEquals(Set.of(), view);
+    g.addEdge(50, 51);
+    assertEquals(Set.of(51), view);
+  }
+
+  /**
+   * Covers {@link SparseGraphImpl#addEdges(int[], int[])},
+   * {@link SparseGraphImpl#ensureDegreeCapacity(int, int)}
+   */
+  @Test
+  void bulk() {
+    SparseGraphImpl g = new SparseGraphImpl(40);
+    g.addEdge(0, 1);
+
+    // A star around vertex 0, with a repeated edge and an existing edge
+    int[] vertices1 = new int[40];
+    int[] vertices2 = new int[40];
+    for (int i = 0; i < 39; i++) {
+      vertices1[i] = 0;
+      vertices2[i] = i + 1;
+    }
+    vertices1[39] = 2;
+    vertices2[39] = 0;
+    g.addEdges(vertices1, vertices2);
+    assertTrue(g.isPromoted(0), "Vertices expected to have a high degree are promoted at once");
+    assertEquals(39, g.getDegree(0));
+    for (int v = 1; v < 40; v++) {
+      assertTrue(g.hasEdge(v, 0));
+      assertEquals(1, g.getDegree(v));
+    }
+
+    // Invalid batches leave the graph unchanged
+    assertThrows(IllegalArgumentException.class,
+        () -> g.addEdges(new int[] {1, 2}, new int[] {3}));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> g.addEdges(new int[] {1, 2}, new int[] {3, 40}));
+    assertThrows(UnsupportedOperationException.class,
+        () -> g.addEdges(new int[] {1, 2}, new int[] {3, 2}));
+    assertFalse(g.hasEdge(1, 3));
+
+    // Hints never drop edges
+    g.ensureDegreeCapacity(1, 5);
+    g.ensureDegreeCapacity(0, 5);
+    g.ensureDegreeCapacity(2, 100);
+    assertEquals(Set.of(0), g.getAllNeighbors(2));
+    assertEquals(39, g.getDegree(0));
+    g.ensureDegreeCapacity(3);
+    assertEquals(Set.of(0), g.getAllNeighbors(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> g.ensureDegreeCapacity(40, 3));
   }
 
   /**
@@ -0,0 +1,112 @@
+package edu.rit.cs.graph_matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class VertexOrderingTest {
+  /**
+   * Builds a path graph whose vertices are labeled in a random order.
+   */
+  private static MutableGraph shuffledPath(int n, Random rd) {
+    int[] labels = new int[n];
+    for (int i = 0; i < n; i++) {
+      labels[i] = i;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = rd.nextInt(i + 1);
+      int tmp = labels[i];
+      labels[i] = labels[j];
+      labels[j] = tmp;
+    }
+
+    MutableGraph g = new SparseGraphImpl(n);
+    for (int i = 1; i < n; i++) {
+      g.addEdge(labels[i - 1], labels[i]);
+    }
+    return g;
+  }
+
+  @ParameterizedTest
+  @EnumSource(VertexOrdering.Strategy.class)
+  void relabelTest(VertexOrdering.Strategy strategy) {
+    Random rd = new Random(0);
+    MutableGraph g = GraphGenerator.generateRegularGraph(new SparseGraphImpl(10_000), 3);
+    GraphGenerator.mutateRegularGraph(g, 30_000, rd);
+    // A second component and an isolated vertex
+    g.removeEdge(0, 1);
+
+    VertexOrdering ordering = VertexOrdering.compute(g, strategy);
+    assertEquals(10_000, ordering.size());
+    boolean[] seen = new boolean[10_000];
+    for (int i = 0; i < 10_000; i++) {
+      int v = ordering.toOriginal(i);
+      assertTrue(!seen[v], "Ordering must be a permutation");
+      seen[v] = true;
+      assertEquals(i, ordering.toRelabeled(v));
+    }
+
+    CompressedGraphImpl relabeled = ordering.relabel(g);
+    assertEquals(g.size(), relabeled.size());
+    for (int v = 0; v < g.size(); v++) {
+      int r = ordering.toRelabeled(v);
+      assertEquals(g.getDegree(v), relabeled.getDegree(r));
+      for (int u : g.getAllNeighbors(v)) {
+        assertTrue(relabeled.hasEdge(r, ordering.toRelabeled(u)));
+      }
+    }
+
+    // Matchings on the relabeled graph are valid on the original graph
+    Matching matching = new EdmondsAlgorithm(relabeled).computeMaximumMatching();
+    Matching original = ordering.toOriginal(matching);
+    assertEquals(matching.size(), original.size());
+    assertTrue(GraphUtils.isValidMatching(g, original));
+    assertEquals(matching, ordering.toRelabeled(original));
+  }
+
+  @Test
+  void bandwidthTest() {
+    Random rd = new Random(1);
+    MutableGraph path = shuffledPath(10_000, rd);
+    assertTrue(VertexOrdering.bandwidth(path) > 1000);
+
+    // Starting from an end of the path, RCM lays it out in order
+    VertexOrdering rcm = VertexOrdering.compute(path,
+        VertexOrdering.Strategy.REVERSE_CUTHILL_MCKEE);
+    assertEquals(1, VertexOrdering.bandwidth(rcm.relabel(path)));
+
+    // BFS starts from vertex 0 wherever it is on the path, growing both ways
+    VertexOrdering bfs = VertexOrdering.compute(path, VertexOrdering.Strategy.BFS);
+    assertTrue(VertexOrdering.bandwidth(bfs.relabel(path)) <= 2);
+
+    // A star's center has the highest degree
+    Graph star = GraphGenerator.generateStarGraph(new SparseGraphImpl(100));
+    VertexOrdering degree = VertexOrdering.compute(star, VertexOrdering.Strategy.DEGREE);
+    assertEquals(0, degree.toOriginal(0));
+    assertEquals(1, degree.toOriginal(1));
+    assertEquals(0, VertexOrdering.bandwidth(new SparseGraphImpl(5)));
+  }
+
+  @Test
+  void invalidTest() {
+    assertThrows(IllegalArgumentException.class, () -> VertexOrdering.of(new int[] {0, 0}));
+    assertThrows(IllegalArgumentException.class, () -> VertexOrdering.of(new int[] {1, 2}));
+
+    VertexOrdering ordering = VertexOrdering.of(new int[] {2, 0, 1});
+    assertEquals(0, ordering.toRelabeled(2));
+    assertThrows(IllegalArgumentException.class,
+        () -> ordering.relabel(new SparseGraphImpl(4)));
+    assertThrows(IllegalArgumentException.class,
+        () -> ordering.toOriginal(Matching.fromMates(new int[] {1, 0})));
+
+    Matching matching = ordering.toOriginal(Matching.fromMates(new int[] {1, 0, -1}));
+    assertTrue(matching.contains(2, 0));
+    assertEquals(1, matching.size());
+  }
+}